@@ -0,0 +1,189 @@
+package com.myhexin.autotest.jsoncomparison.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.compare.matcher.ExpectedElementIndex;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.CompareMetrics;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.CompareMetricsListener;
+import com.myhexin.autotest.jsoncomparison.compare.sink.DiffSink;
+import com.myhexin.autotest.jsoncomparison.compare.sink.ListDiffSink;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+
+import java.util.Arrays;
+
+/**
+ * 单次对比过程中在递归时共享的上下文
+ * <p>
+ * 包含当前节点的路径栈、子树指纹表、差异的接收者、指标监听器、预处理完成的预期Json以及按照深度复用的子节点对比参数. 对比是深度优先进行的,
+ * 同一深度在同一时刻只会有一个子节点正在对比, 因此每个深度只需要一个对比参数对象, 一致的子树在递归时无需创建新的对比参数
+ * <p>
+ * 非线程安全, 并行对比时每个子任务需要使用{@link #fork(FingerprintTable)}得到的上下文
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class CompareContext {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final PathStack path;
+
+    private final FingerprintTable fingerprints;
+
+    private DiffSink sink;
+
+    private final CompareMetricsListener metrics;
+
+    /**
+     * 预处理完成的预期Json, 为null时表示没有预处理
+     */
+    private final PreparedBaseline baseline;
+
+    /**
+     * 是否将差异上报给指标监听器, 试探对比以及并行对比的子任务中的差异不上报, 子任务的差异在合并时由发起对比的上下文上报
+     */
+    private final boolean reportDiffs;
+
+    /**
+     * 已经交给接收者的差异数
+     */
+    private int diffNum;
+
+    /**
+     * 下标为子节点在路径栈中的深度
+     */
+    private CompareParams<JsonNode>[] pool;
+
+    private CompareContext trial;
+
+    public CompareContext(PathStack path, FingerprintTable fingerprints, DiffSink sink) {
+        this(path, fingerprints, sink, null);
+    }
+
+    /**
+     * @param path         路径栈
+     * @param fingerprints 指纹表, 存在预处理完成的预期Json时需要建立在其指纹表之上
+     * @param sink         差异的接收者
+     * @param baseline     预处理完成的预期Json, 允许为null
+     */
+    public CompareContext(PathStack path, FingerprintTable fingerprints, DiffSink sink, PreparedBaseline baseline) {
+        this(path, fingerprints, sink, CompareMetrics.getListener(), true, baseline);
+    }
+
+    private CompareContext(PathStack path, FingerprintTable fingerprints, DiffSink sink,
+                           CompareMetricsListener metrics, boolean reportDiffs, PreparedBaseline baseline) {
+        this.path = path;
+        this.fingerprints = fingerprints;
+        this.sink = sink;
+        this.metrics = metrics;
+        this.reportDiffs = reportDiffs;
+        this.baseline = baseline;
+    }
+
+    public PathStack getPath() {
+        return path;
+    }
+
+    public FingerprintTable getFingerprints() {
+        return fingerprints;
+    }
+
+    public DiffSink getSink() {
+        return sink;
+    }
+
+    /**
+     * 替换差异的接收者, 用于对子树中产生的差异进行加工, 子树对比结束后调用方需要还原
+     *
+     * @param sink 新的接收者
+     */
+    public void setSink(DiffSink sink) {
+        this.sink = sink;
+    }
+
+    /**
+     * 当前对比所使用的指标监听器, 在对比开始时确定
+     */
+    public CompareMetricsListener getMetrics() {
+        return metrics;
+    }
+
+    public PreparedBaseline getBaseline() {
+        return baseline;
+    }
+
+    /**
+     * 获取乱序数组中预期元素的索引, 预处理时已经建立的索引直接复用, 否则重新建立
+     *
+     * @param expected 预期的数组
+     * @param rules    数组所在路径的规则
+     * @return 索引
+     */
+    public ExpectedElementIndex getExpectedIndex(ArrayNode expected, PathRules rules) {
+        ExpectedElementIndex index = baseline == null ? null : baseline.getExpectedIndex(expected, rules);
+        return index == null ? new ExpectedElementIndex(expected, rules, fingerprints) : index;
+    }
+
+    public int getDiffNum() {
+        return diffNum;
+    }
+
+    /**
+     * 将差异交给接收者
+     *
+     * @param diff 差异
+     */
+    public void emit(BriefDiffResult.BriefDiff diff) {
+        diffNum++;
+        if (reportDiffs && metrics != CompareMetricsListener.NOOP) {
+            metrics.onDiff(DiffEnum.of(diff.getType()));
+        }
+        sink.accept(diff);
+    }
+
+    /**
+     * 获取用于试探对比的上下文, 与当前上下文共享路径栈与指纹表, 但产生的差异会被丢弃, 也不会计入当前上下文的差异数
+     *
+     * @return 试探对比的上下文
+     */
+    public CompareContext trial() {
+        if (trial == null) {
+            trial = new CompareContext(path, fingerprints, DiffSink.DISCARD, metrics, false, baseline);
+        }
+        return trial;
+    }
+
+    /**
+     * 获取当前深度可以复用的对比参数, 调用方需要先将子节点压入路径栈, 并重新设置对比参数中的所有字段
+     *
+     * @return 对比参数
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public CompareParams<JsonNode> acquire() {
+        int depth = path.depth();
+        if (pool == null) {
+            pool = new CompareParams[Math.max(INITIAL_CAPACITY, depth + 1)];
+        } else if (depth >= pool.length) {
+            pool = Arrays.copyOf(pool, Math.max(pool.length << 1, depth + 1));
+        }
+        CompareParams<JsonNode> params = pool[depth];
+        if (params == null) {
+            params = CompareParams.<JsonNode>builder().context(this).build();
+            pool[depth] = params;
+        }
+        return params;
+    }
+
+    /**
+     * 为并行对比的子任务创建上下文, 路径栈为当前路径栈的副本, 差异暂存在{@link ListDiffSink}中, 不与当前上下文共享任何可变状态
+     *
+     * @param fingerprints 子任务使用的指纹表
+     * @return 新的上下文
+     */
+    public CompareContext fork(FingerprintTable fingerprints) {
+        return new CompareContext(path.copy(), fingerprints, new ListDiffSink(), metrics, false, baseline);
+    }
+}
@@ -4,10 +4,12 @@ import cn.hutool.core.text.CharSequenceUtil;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
 import lombok.Builder;
 import lombok.Data;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 /**
  * 进行Json对比时所必须的参数
@@ -25,6 +27,26 @@ public class CompareParams<T extends JsonNode> implements Serializable {
      */
     private JsonCompareConfig config;
 
+    /**
+     * 当前路径所对应的已编译规则, 为null时会在对比前根据config与currentPath进行编译
+     */
+    private PathRules rules;
+
+    /**
+     * 当前对比在递归时共享的上下文, 包含路径栈与子树指纹表, 为null时会在对比前根据currentPath创建
+     */
+    private transient CompareContext context;
+
+    /**
+     * 当前对比所共享的差异上限, 为null时会在对比前根据config创建, config中未配置时不限制
+     */
+    private transient DiffBudget budget;
+
+    /**
+     * 预处理完成的预期Json, 为null时每次对比重新计算预期Json的指纹与索引
+     */
+    private transient PreparedBaseline baseline;
+
     /**
      * 当前路径, 针对于实际的json而言 actual
      */
@@ -41,6 +63,15 @@ public class CompareParams<T extends JsonNode> implements Serializable {
      */
     private T actual;
 
+    /**
+     * 获取当前路径, 存在上下文时根据路径栈拼接
+     *
+     * @return 当前路径
+     */
+    public String getCurrentPath() {
+        return Objects.nonNull(context) ? context.getPath().toString() : currentPath;
+    }
+
     public void setCurrentPath(String fieldName) {
         if (CharSequenceUtil.isBlank(fieldName)) {
             return;
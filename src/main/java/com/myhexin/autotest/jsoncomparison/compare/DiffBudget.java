@@ -0,0 +1,67 @@
+package com.myhexin.autotest.jsoncomparison.compare;
+
+import java.util.Objects;
+
+/**
+ * 一次对比中允许收集的差异数, 差异数达到上限后不再继续对比
+ * <p>
+ * 同一次对比中的所有节点共享同一个实例, 非线程安全, 设置了差异上限时不会进行并行对比
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class DiffBudget {
+
+    private final int limit;
+
+    private int used;
+
+    private DiffBudget(int limit) {
+        this.limit = limit;
+    }
+
+    /**
+     * 根据最大差异数创建
+     *
+     * @param maxDiffNum 最大差异数, 为0时只判断是否一致, 遇到第一个差异即停止; 为null或小于0时不限制
+     * @return 差异上限, 不限制时返回null
+     */
+    public static DiffBudget of(Integer maxDiffNum) {
+        if (Objects.isNull(maxDiffNum) || maxDiffNum < 0) {
+            return null;
+        }
+        // 只判断是否一致时仍然需要记录第一个差异, 否则调用方无法区分一致与不一致
+        return new DiffBudget(Math.max(1, maxDiffNum));
+    }
+
+    /**
+     * 只判断是否一致的差异上限
+     *
+     * @return 遇到第一个差异即停止的差异上限
+     */
+    public static DiffBudget equalityOnly() {
+        return new DiffBudget(1);
+    }
+
+    /**
+     * 差异数是否已达到上限
+     *
+     * @return 达到上限时返回true
+     */
+    public boolean isExhausted() {
+        return used >= limit;
+    }
+
+    /**
+     * 尝试记录一个差异
+     *
+     * @return 未达到上限时记录并返回true, 否则返回false
+     */
+    public boolean tryConsume() {
+        if (isExhausted()) {
+            return false;
+        }
+        used++;
+        return true;
+    }
+}
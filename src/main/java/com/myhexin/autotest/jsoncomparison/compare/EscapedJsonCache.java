@@ -0,0 +1,232 @@
+package com.myhexin.autotest.jsoncomparison.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import com.myhexin.autotest.jsoncomparison.utils.LruCache;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 转义Json字符串的缓存
+ * <p>
+ * 同一段转义Json经常会在大量数组元素中重复出现, 因此缓存两部分内容, 容量均按照字符串的长度计算:
+ * <ul>
+ *     <li>字符串解析后的Json树, key为字符串内容</li>
+ *     <li>两段字符串在同一个转义对比配置下的对比结果, key为配置对象的引用以及两段字符串的内容</li>
+ * </ul>
+ * 缓存的Json树会在多次对比之间共享, 调用方不能对其进行修改; 对比结果中的差异在缓存前生成所有延迟字段并复制,
+ * 差异以及子差异Json在每次获取时都返回新的副本, 调用方可以自由修改
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class EscapedJsonCache {
+
+    /**
+     * 默认缓存的Json树对应的字符串总长度
+     */
+    public static final long DEFAULT_MAX_PARSED_CHARS = 4L << 20;
+
+    /**
+     * 默认缓存的对比结果对应的字符串总长度
+     */
+    public static final long DEFAULT_MAX_OUTCOME_CHARS = 4L << 20;
+
+    private static final EscapedJsonCache SHARED = new EscapedJsonCache(
+            DEFAULT_MAX_PARSED_CHARS, DEFAULT_MAX_OUTCOME_CHARS
+    );
+
+    private final LruCache<String, JsonNode> parsed;
+
+    private final LruCache<OutcomeKey, Outcome> outcomes;
+
+    public EscapedJsonCache(long maxParsedChars, long maxOutcomeChars) {
+        parsed = new LruCache<>(maxParsedChars, (text, node) -> text.length());
+        outcomes = new LruCache<>(maxOutcomeChars, (key, outcome) -> key.actual.length() + key.expected.length());
+    }
+
+    /**
+     * 所有对比共享的缓存
+     *
+     * @return 缓存
+     */
+    public static EscapedJsonCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 解析转义Json字符串
+     *
+     * @param text 字符串
+     * @return Json树, 无法解析时为文本节点
+     */
+    public JsonNode parse(String text) {
+        return parsed.get(text, JsonUtils::getJsonNode);
+    }
+
+    /**
+     * 获取缓存的对比结果
+     *
+     * @param escapedJson  转义对比配置
+     * @param actualText   实际的字符串
+     * @param expectedText 预期的字符串
+     * @return 未缓存时返回null
+     */
+    public Outcome getOutcome(JsonCompareConfig.EscapedJson escapedJson, String actualText, String expectedText) {
+        return outcomes.get(new OutcomeKey(escapedJson, actualText, expectedText));
+    }
+
+    /**
+     * 缓存对比结果
+     *
+     * @param escapedJson  转义对比配置
+     * @param actualText   实际的字符串
+     * @param expectedText 预期的字符串
+     * @param result       对比结果
+     * @return 缓存的对比结果
+     */
+    public Outcome putOutcome(JsonCompareConfig.EscapedJson escapedJson, String actualText, String expectedText,
+                              BriefDiffResult result) {
+        Outcome outcome = result.getBriefDiffs().isEmpty() ? Outcome.EQUAL : new Outcome(
+                copy(result.getBriefDiffs()),
+                deepCopy(result.getChildActualJson()),
+                deepCopy(result.getChildExpectedJson())
+        );
+        outcomes.put(new OutcomeKey(escapedJson, actualText, expectedText), outcome);
+        return outcome;
+    }
+
+    private static JsonNode deepCopy(JsonNode node) {
+        return node == null ? null : node.deepCopy();
+    }
+
+    private static List<BriefDiffResult.BriefDiff> copy(List<BriefDiffResult.BriefDiff> briefDiffs) {
+        List<BriefDiffResult.BriefDiff> copied = new ArrayList<>(briefDiffs.size());
+        for (BriefDiffResult.BriefDiff diff : briefDiffs) {
+            copied.add(diff.copy());
+        }
+        return copied;
+    }
+
+    public LruCache<String, JsonNode> getParsed() {
+        return parsed;
+    }
+
+    public LruCache<OutcomeKey, Outcome> getOutcomes() {
+        return outcomes;
+    }
+
+    public LruCache.Stats getParsedStats() {
+        return parsed.stats();
+    }
+
+    public LruCache.Stats getOutcomeStats() {
+        return outcomes.stats();
+    }
+
+    /**
+     * 清空缓存以及统计信息
+     */
+    public void clear() {
+        parsed.clear();
+        outcomes.clear();
+    }
+
+    /**
+     * 转义对比的结果
+     */
+    public static final class Outcome {
+
+        /**
+         * 两段字符串一致
+         */
+        public static final Outcome EQUAL = new Outcome(Collections.emptyList(), null, null);
+
+        private final List<BriefDiffResult.BriefDiff> briefDiffs;
+
+        private final JsonNode childActualJson;
+
+        private final JsonNode childExpectedJson;
+
+        private Outcome(List<BriefDiffResult.BriefDiff> briefDiffs, JsonNode childActualJson,
+                        JsonNode childExpectedJson) {
+            this.briefDiffs = briefDiffs;
+            this.childActualJson = childActualJson;
+            this.childExpectedJson = childExpectedJson;
+        }
+
+        public boolean isEqual() {
+            return briefDiffs.isEmpty();
+        }
+
+        /**
+         * 缓存的差异会被多个线程同时读取, 每次返回新的副本
+         *
+         * @return 差异的副本
+         */
+        public List<BriefDiffResult.BriefDiff> getBriefDiffs() {
+            return briefDiffs.isEmpty() ? Collections.emptyList() : copy(briefDiffs);
+        }
+
+        /**
+         * 与差异一样, 每次返回新的副本
+         *
+         * @return 实际Json中存在差异的部分的副本
+         */
+        public JsonNode getChildActualJson() {
+            return deepCopy(childActualJson);
+        }
+
+        /**
+         * 与差异一样, 每次返回新的副本
+         *
+         * @return 预期Json中存在差异的部分的副本
+         */
+        public JsonNode getChildExpectedJson() {
+            return deepCopy(childExpectedJson);
+        }
+    }
+
+    /**
+     * 对比结果的key, 配置按照引用比较, 字符串按照内容比较
+     */
+    public static final class OutcomeKey {
+
+        private final JsonCompareConfig.EscapedJson escapedJson;
+
+        private final String actual;
+
+        private final String expected;
+
+        private final int hash;
+
+        private OutcomeKey(JsonCompareConfig.EscapedJson escapedJson, String actual, String expected) {
+            this.escapedJson = escapedJson;
+            this.actual = actual;
+            this.expected = expected;
+            this.hash = (System.identityHashCode(escapedJson) * 31 + actual.hashCode()) * 31 + expected.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof OutcomeKey)) {
+                return false;
+            }
+            OutcomeKey other = (OutcomeKey) o;
+            return escapedJson == other.escapedJson && hash == other.hash
+                    && actual.equals(other.actual) && expected.equals(other.expected);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
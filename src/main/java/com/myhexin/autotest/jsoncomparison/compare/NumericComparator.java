@@ -0,0 +1,194 @@
+package com.myhexin.autotest.jsoncomparison.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.config.Tolerance;
+
+import java.math.BigDecimal;
+
+/**
+ * 数值节点的对比
+ * <p>
+ * 对比结果与将节点的文本转换为{@link BigDecimal}后对比完全一致, 例如: 1 与 1.0 一致. 对于Jackson原生的
+ * int/long/double节点直接使用基础类型进行对比, 无法确定结果时再退化为{@link BigDecimal}.
+ * 相对容差与ULP距离本身就是针对浮点数定义的, 统一转换为最接近的double后对比, 不会分配任何对象
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class NumericComparator {
+
+    /**
+     * 绝对值不超过该值的long转换为double时没有精度损失
+     */
+    private static final long MAX_EXACT_DOUBLE = 1L << 53;
+
+    private NumericComparator() {
+    }
+
+    /**
+     * 两个数值是否相等
+     *
+     * @param actual   实际的数值节点
+     * @param expected 预期的数值节点
+     * @return 是否相等
+     */
+    public static boolean isEqual(JsonNode actual, JsonNode expected) {
+        if (isPrimitiveIntegral(actual) && isPrimitiveIntegral(expected)) {
+            return actual.longValue() == expected.longValue();
+        }
+        if (isExactDouble(actual) && isExactDouble(expected)) {
+            // double的文本是能够唯一还原该double的最短小数, 因此文本的数值相等当且仅当double相等
+            return actual.doubleValue() == expected.doubleValue();
+        }
+        return toBigDecimal(actual).compareTo(toBigDecimal(expected)) == 0;
+    }
+
+    /**
+     * 两个数值是否在容差范围内
+     *
+     * @param actual    实际的数值节点
+     * @param expected  预期的数值节点
+     * @param tolerance 容差
+     * @return 是否在容差范围内
+     */
+    public static boolean isWithin(JsonNode actual, JsonNode expected, Tolerance tolerance) {
+        switch (tolerance.getMode()) {
+            case RELATIVE:
+                return isWithinRelative(nearestDouble(actual), nearestDouble(expected), tolerance.getDoubleValue());
+            case ULP:
+                return isWithinUlps(nearestDouble(actual), nearestDouble(expected), tolerance.getUlps());
+            default:
+                return isWithinAbsolute(actual, expected, tolerance);
+        }
+    }
+
+    /**
+     * 两个数值的差值不超过两者中绝对值较大者的一定比例
+     *
+     * @param actual   实际值
+     * @param expected 预期值
+     * @param ratio    比例, 例如: 0.01
+     * @return 是否在容差范围内, 存在NaN时不在范围内
+     */
+    public static boolean isWithinRelative(double actual, double expected, double ratio) {
+        if (actual == expected) {
+            return ratio >= 0;
+        }
+        return Math.abs(actual - expected) <= ratio * Math.max(Math.abs(actual), Math.abs(expected));
+    }
+
+    /**
+     * 两个数值之间可表示的double个数不超过一定数量, 0.0 与 -0.0 视为同一个数值
+     *
+     * @param actual   实际值
+     * @param expected 预期值
+     * @param ulps     ULP距离
+     * @return 是否在容差范围内, 存在NaN时不在范围内
+     */
+    public static boolean isWithinUlps(double actual, double expected, long ulps) {
+        if (Double.isNaN(actual) || Double.isNaN(expected) || ulps < 0) {
+            return false;
+        }
+        long a = ordered(actual);
+        long b = ordered(expected);
+        long diff = b - a;
+        // 相减溢出说明距离超出了long的范围
+        if (((b ^ a) & (b ^ diff)) < 0) {
+            return false;
+        }
+        return diff >= 0 ? diff <= ulps : diff >= -ulps;
+    }
+
+    /**
+     * 绝对容差, 即: 实际 - 容差 <= 预期 <= 实际 + 容差
+     */
+    private static boolean isWithinAbsolute(JsonNode actual, JsonNode expected, Tolerance tolerance) {
+        if (tolerance.isExactLong() && isPrimitiveIntegral(actual) && isPrimitiveIntegral(expected)) {
+            long tolerant = tolerance.getLongValue();
+            long a = actual.longValue();
+            long b = expected.longValue();
+            long diff = b - a;
+            // 相减没有溢出
+            if (((b ^ a) & (b ^ diff)) >= 0) {
+                if (tolerant < 0) {
+                    return false;
+                }
+                return diff >= 0 ? diff <= tolerant : diff >= -tolerant;
+            }
+        } else if (isExactDouble(actual) && isExactDouble(expected)) {
+            double a = actual.doubleValue();
+            double b = expected.doubleValue();
+            double tolerant = tolerance.getDoubleValue();
+            double diff = Math.abs(b - a);
+            // 文本与double之间、相减以及容差的舍入误差之和不会超过该值, 在误差范围之外的结果是确定的
+            double error = Math.ulp(a) + Math.ulp(b) + Math.ulp(diff) + Math.ulp(tolerant);
+            if (diff + error < tolerant) {
+                return true;
+            }
+            if (diff - error > tolerant) {
+                return false;
+            }
+        }
+        BigDecimal actualNumber = toBigDecimal(actual);
+        BigDecimal expectedNumber = toBigDecimal(expected);
+        BigDecimal tolerant = tolerance.getValue();
+        return actualNumber.add(tolerant).compareTo(expectedNumber) >= 0
+                && actualNumber.subtract(tolerant).compareTo(expectedNumber) <= 0;
+    }
+
+    /**
+     * 将数值节点转换为与其文本数值相等的{@link BigDecimal}
+     *
+     * @param node 数值节点
+     * @return 数值
+     * @throws NumberFormatException 数值为NaN或无穷大
+     */
+    public static BigDecimal toBigDecimal(JsonNode node) {
+        // float节点的decimalValue会先转换为double, 与文本的数值不一致
+        if (node.isFloat()) {
+            return new BigDecimal(node.asText());
+        }
+        return node.decimalValue();
+    }
+
+    /**
+     * 最接近数值的double, 数值相等的节点得到的double一定相同
+     */
+    private static double nearestDouble(JsonNode node) {
+        if (node.isDouble() || node.isInt() || node.isShort()) {
+            return node.doubleValue();
+        }
+        // long直接转换为double与文本解析的舍入方式一致
+        if (node.isLong()) {
+            return (double) node.longValue();
+        }
+        return toBigDecimal(node).doubleValue();
+    }
+
+    /**
+     * 将double按照数值大小映射为有序的long, 相邻的double映射后的值也相邻
+     */
+    private static long ordered(double value) {
+        long bits = Double.doubleToLongBits(value);
+        return bits < 0 ? Long.MIN_VALUE - bits : bits;
+    }
+
+    private static boolean isPrimitiveIntegral(JsonNode node) {
+        return node.isInt() || node.isLong() || node.isShort();
+    }
+
+    /**
+     * 是否可以无损的表示为有限的double
+     */
+    private static boolean isExactDouble(JsonNode node) {
+        if (node.isDouble()) {
+            double value = node.doubleValue();
+            return !Double.isNaN(value) && !Double.isInfinite(value);
+        }
+        if (isPrimitiveIntegral(node)) {
+            long value = node.longValue();
+            return value >= -MAX_EXACT_DOUBLE && value <= MAX_EXACT_DOUBLE;
+        }
+        return false;
+    }
+}
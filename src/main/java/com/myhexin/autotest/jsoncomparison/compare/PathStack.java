@@ -0,0 +1,117 @@
+package com.myhexin.autotest.jsoncomparison.compare;
+
+import com.myhexin.autotest.jsoncomparison.compare.factory.JsonComparator;
+
+import java.util.Arrays;
+
+/**
+ * 对比过程中当前节点的路径
+ * <p>
+ * 进入子节点时压入一段字段名或下标, 返回时弹出, 只有在产生差异或输出日志时才会拼接为字符串,
+ * 拼接的格式与{@link JsonComparator#SPLIT_POINT}以及下标的格式一致, 例如: $.data.list[1].name
+ * <p>
+ * 非线程安全, 并行对比时每个子任务需要使用{@link #copy()}得到的副本
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class PathStack {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String root;
+
+    /**
+     * 每一段的字段名, 为null时表示该段为数组下标
+     */
+    private String[] names;
+
+    private int[] indexes;
+
+    private int depth;
+
+    /**
+     * @param root 根路径, 例如: $
+     */
+    public PathStack(String root) {
+        this(root, new String[INITIAL_CAPACITY], new int[INITIAL_CAPACITY], 0);
+    }
+
+    private PathStack(String root, String[] names, int[] indexes, int depth) {
+        this.root = root;
+        this.names = names;
+        this.indexes = indexes;
+        this.depth = depth;
+    }
+
+    /**
+     * 进入对象的字段
+     *
+     * @param name 字段名
+     * @return 当前对象
+     */
+    public PathStack push(String name) {
+        ensureCapacity();
+        names[depth++] = name;
+        return this;
+    }
+
+    /**
+     * 进入数组的元素
+     *
+     * @param index 下标
+     * @return 当前对象
+     */
+    public PathStack push(int index) {
+        ensureCapacity();
+        names[depth] = null;
+        indexes[depth++] = index;
+        return this;
+    }
+
+    /**
+     * 返回上一层
+     */
+    public void pop() {
+        names[--depth] = null;
+    }
+
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * 复制当前路径, 副本与当前对象互不影响
+     *
+     * @return 副本
+     */
+    public PathStack copy() {
+        int capacity = Math.max(INITIAL_CAPACITY, depth << 1);
+        return new PathStack(root, Arrays.copyOf(names, capacity), Arrays.copyOf(indexes, capacity), depth);
+    }
+
+    /**
+     * 拼接当前路径
+     *
+     * @return 路径字符串
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder(root.length() + depth * 8).append(root);
+        for (int i = 0; i < depth; i++) {
+            if (names[i] != null) {
+                builder.append(JsonComparator.SPLIT_POINT).append(names[i]);
+            } else {
+                builder.append('[').append(indexes[i]).append(']');
+            }
+        }
+        return builder.toString();
+    }
+
+    private void ensureCapacity() {
+        if (depth == names.length) {
+            names = Arrays.copyOf(names, depth << 1);
+            indexes = Arrays.copyOf(indexes, depth << 1);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.myhexin.autotest.jsoncomparison.compare;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.compare.matcher.ExpectedElementIndex;
+import com.myhexin.autotest.jsoncomparison.compare.sink.DiffSink;
+import com.myhexin.autotest.jsoncomparison.config.CompiledCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * 预处理完成的预期Json, 用于将多个实际Json与同一个预期Json进行对比
+ * <p>
+ * 预处理时只进行一次配置编译, 并计算预期Json中所有子树的指纹以及乱序数组的索引. 每次对比时实际Json的指纹表建立在预期的指纹表之上,
+ * 与预期指纹一致的子树在排除哈希碰撞后直接跳过, 只有指纹不一致的子树才会递归对比.
+ * <p>
+ * 预处理完成后不会再被修改, 可以在多个线程中同时使用; 预处理之后不能再修改预期Json以及对比配置
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class PreparedBaseline {
+
+    private static final JsonComparatorFactory COMPARATOR_FACTORY = JsonComparatorFactory.build();
+
+    private final JsonNode expected;
+
+    private final JsonCompareConfig config;
+
+    private final PathRules rules;
+
+    private final FingerprintTable fingerprints;
+
+    /**
+     * 预期Json中的乱序数组 -> 提前构建好的索引, 按照引用查找
+     */
+    private final Map<JsonNode, ExpectedElementIndex> expectedIndexes;
+
+    private PreparedBaseline(JsonNode expected, JsonCompareConfig config) {
+        this.expected = expected;
+        this.config = config;
+        this.rules = CompiledCompareConfig.compile(config).getRoot();
+        this.fingerprints = FingerprintTable.create(config, null);
+        this.expectedIndexes = new IdentityHashMap<>();
+        prepare(expected, rules);
+    }
+
+    /**
+     * 预处理预期Json
+     *
+     * @param expected 预期的Json
+     * @param config   对比配置, 允许为null
+     * @return 预处理完成的预期Json
+     */
+    public static PreparedBaseline prepare(JsonNode expected, JsonCompareConfig config) {
+        return new PreparedBaseline(expected, config);
+    }
+
+    /**
+     * 将实际Json与预期Json进行对比, 与批量对比一样不会输出日志
+     *
+     * @param actual 实际的Json
+     * @return 对比结果
+     */
+    public BriefDiffResult compare(JsonNode actual) {
+        return COMPARATOR_FACTORY.executeContrast(actual.getNodeType(), buildParams(actual));
+    }
+
+    /**
+     * 将实际Json与预期Json进行对比, 差异产生时立即交给接收者
+     *
+     * @param actual 实际的Json
+     * @param sink   差异的接收者
+     * @return 对比结果, 不包含差异列表
+     */
+    public BriefDiffResult compare(JsonNode actual, DiffSink sink) {
+        return COMPARATOR_FACTORY.executeContrast(actual.getNodeType(), buildParams(actual), sink);
+    }
+
+    public JsonNode getExpected() {
+        return expected;
+    }
+
+    public JsonCompareConfig getConfig() {
+        return config;
+    }
+
+    public PathRules getRules() {
+        return rules;
+    }
+
+    /**
+     * 预期Json的指纹表, 只读, 每次对比的指纹表建立在该表之上
+     */
+    public FingerprintTable getFingerprints() {
+        return fingerprints;
+    }
+
+    /**
+     * 获取预处理时为乱序数组建立的索引
+     *
+     * @param array      预期的数组
+     * @param arrayRules 数组所在路径的规则
+     * @return 数组不属于预期Json或者规则不一致时返回null
+     */
+    public ExpectedElementIndex getExpectedIndex(ArrayNode array, PathRules arrayRules) {
+        ExpectedElementIndex index = expectedIndexes.get(array);
+        return index != null && index.isIndexOf(array, arrayRules) ? index : null;
+    }
+
+    private CompareParams<JsonNode> buildParams(JsonNode actual) {
+        return CompareParams.<JsonNode>builder()
+                .rules(rules)
+                .baseline(this)
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+    }
+
+    /**
+     * 计算每个容器节点的指纹, 并行对比时超过阈值的容器没有指纹, 但是其中的子节点仍然需要计算
+     */
+    private void prepare(JsonNode node, PathRules nodeRules) {
+        if (!node.isContainerNode() || nodeRules.isIgnore()) {
+            return;
+        }
+        fingerprints.of(node, nodeRules);
+        if (node.isArray()) {
+            if (nodeRules.isDisorder()) {
+                ArrayNode array = (ArrayNode) node;
+                expectedIndexes.put(array, new ExpectedElementIndex(array, nodeRules, fingerprints).prepare());
+            }
+            for (int i = 0; i < node.size(); i++) {
+                prepare(node.get(i), nodeRules.element(i));
+            }
+            return;
+        }
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            prepare(field.getValue(), nodeRules.field(field.getKey()));
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.myhexin.autotest.jsoncomparison.compare.batch;
+
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 批量对比的结果
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Data
+public class BatchCompareResult implements Serializable {
+
+    /**
+     * 每组Json的对比结果, 与提交顺序一致
+     */
+    private List<BriefDiffResult> results = new ArrayList<>();
+
+    /**
+     * 吞吐指标
+     */
+    private BatchMetrics metrics;
+}
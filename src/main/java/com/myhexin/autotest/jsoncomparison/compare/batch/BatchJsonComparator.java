@@ -0,0 +1,258 @@
+package com.myhexin.autotest.jsoncomparison.compare.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.Stream;
+
+/**
+ * 使用同一份配置批量对比多组Json
+ * <p>
+ * 配置只编译一次, 每组Json提交到线程池中对比, 同时处于对比中的组数不超过maxInFlight,
+ * 达到上限后会等待已提交的对比完成后再读取下一组, 避免一次性将所有Json加载到内存中.
+ * 单组对比不会输出日志, 整个批次完成后输出一次吞吐指标
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Slf4j
+public class BatchJsonComparator implements AutoCloseable {
+
+    private static final JsonComparatorFactory COMPARATOR_FACTORY = JsonComparatorFactory.build();
+
+    private static final int IN_FLIGHT_PER_THREAD = 4;
+
+    private final JsonCompareConfig config;
+
+    private final PathRules rules;
+
+    private final ExecutorService executor;
+
+    private final int maxInFlight;
+
+    private final boolean ownExecutor;
+
+    /**
+     * 使用默认的线程池, 运行在支持虚拟线程的JDK上时使用虚拟线程, 否则使用与CPU核数一致的固定线程池
+     *
+     * @param config 对比配置
+     */
+    public BatchJsonComparator(JsonCompareConfig config) {
+        this(config, defaultExecutor(), Runtime.getRuntime().availableProcessors() * IN_FLIGHT_PER_THREAD, true);
+    }
+
+    /**
+     * @param config      对比配置
+     * @param executor    执行对比的线程池, 由调用方负责关闭
+     * @param maxInFlight 同时处于对比中的最大组数
+     */
+    public BatchJsonComparator(JsonCompareConfig config, ExecutorService executor, int maxInFlight) {
+        this(config, executor, maxInFlight, false);
+    }
+
+    private BatchJsonComparator(JsonCompareConfig config, ExecutorService executor, int maxInFlight,
+                                boolean ownExecutor) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("同时对比的最大组数必须大于0, 当前为: " + maxInFlight);
+        }
+        this.config = config;
+        this.rules = config.compile().getRoot();
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+        this.ownExecutor = ownExecutor;
+    }
+
+    /**
+     * 批量对比, 结果与提交顺序一致
+     *
+     * @param pairs 需要对比的Json
+     * @return 对比结果以及吞吐指标
+     */
+    public BatchCompareResult compare(Stream<ComparePair> pairs) {
+        return compare(pairs.iterator());
+    }
+
+    /**
+     * 批量对比, 结果与提交顺序一致
+     *
+     * @param pairs 需要对比的Json
+     * @return 对比结果以及吞吐指标
+     */
+    public BatchCompareResult compare(Iterator<ComparePair> pairs) {
+        BatchCompareResult result = new BatchCompareResult();
+        result.setMetrics(compare(pairs, (diffResult, index) -> {
+            while (result.getResults().size() <= index) {
+                result.getResults().add(null);
+            }
+            result.getResults().set(index, diffResult);
+        }));
+        return result;
+    }
+
+    /**
+     * 批量对比, 每组对比完成后立即按完成顺序交给消费者, 消费者只会在调用方线程中被调用;
+     * 任意一组对比失败时取消所有还未完成的对比后抛出异常
+     *
+     * @param pairs    需要对比的Json
+     * @param consumer 对比结果以及该组Json的提交下标
+     * @return 吞吐指标
+     */
+    public BatchMetrics compare(Iterator<ComparePair> pairs, ObjIntConsumer<BriefDiffResult> consumer) {
+        CompletionService<Completed> completionService = new ExecutorCompletionService<>(executor);
+        LatencyRecorder recorder = new LatencyRecorder();
+        long begin = System.nanoTime();
+        Set<Future<Completed>> inFlight = new HashSet<>();
+        int submitted = 0;
+        try {
+            while (pairs.hasNext()) {
+                if (inFlight.size() == maxInFlight) {
+                    accept(completionService, inFlight, recorder, consumer);
+                }
+                ComparePair pair = pairs.next();
+                int index = submitted++;
+                inFlight.add(completionService.submit(() -> compare(pair, index)));
+            }
+            while (!inFlight.isEmpty()) {
+                accept(completionService, inFlight, recorder, consumer);
+            }
+        } catch (RuntimeException | Error e) {
+            // 已经提交的对比的结果不会再被读取, 不再继续占用线程池
+            inFlight.forEach(future -> future.cancel(true));
+            throw e;
+        }
+        BatchMetrics metrics = recorder.toMetrics(System.nanoTime() - begin);
+        log.info("当前批量对比操作完成, 共对比[{}]组Json, 存在差异的组数为: [{}], 吞吐: [{}]组/秒, p50: [{}]us, p99: [{}]us",
+                metrics.getPairNum(), metrics.getDiffPairNum(), String.format("%.1f", metrics.getPairsPerSecond()),
+                metrics.getP50Micros(), metrics.getP99Micros());
+        return metrics;
+    }
+
+    private Completed compare(ComparePair pair, int index) {
+        long begin = System.nanoTime();
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .rules(rules)
+                .actual(pair.getActual())
+                .expected(pair.getExpected())
+                .config(config)
+                .build();
+        BriefDiffResult result = COMPARATOR_FACTORY.executeContrast(pair.getActual().getNodeType(), params);
+        return new Completed(index, result, System.nanoTime() - begin);
+    }
+
+    private void accept(CompletionService<Completed> completionService, Set<Future<Completed>> inFlight,
+                        LatencyRecorder recorder, ObjIntConsumer<BriefDiffResult> consumer) {
+        Completed completed;
+        try {
+            Future<Completed> future = completionService.take();
+            inFlight.remove(future);
+            completed = future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("批量对比被中断！", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("批量对比失败: " + e.getCause().getMessage(), e.getCause());
+        }
+        recorder.record(completed);
+        consumer.accept(completed.result, completed.index);
+    }
+
+    /**
+     * 关闭默认创建的线程池, 通过构造方法传入的线程池需要由调用方关闭
+     */
+    @Override
+    public void close() {
+        if (!ownExecutor) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 默认的线程池, 项目基于JDK 8编译, 通过反射获取虚拟线程的线程池
+     */
+    private static ExecutorService defaultExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        }
+    }
+
+    private static final class Completed {
+
+        private final int index;
+
+        private final BriefDiffResult result;
+
+        private final long nanos;
+
+        private Completed(int index, BriefDiffResult result, long nanos) {
+            this.index = index;
+            this.result = result;
+            this.nanos = nanos;
+        }
+    }
+
+    /**
+     * 记录每组对比的耗时, 只在调用方线程中使用
+     */
+    private static final class LatencyRecorder {
+
+        private long[] latencies = new long[64];
+
+        private int size;
+
+        private int diffPairNum;
+
+        void record(Completed completed) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size << 1);
+            }
+            latencies[size++] = completed.nanos;
+            if (completed.result.getDiffNum() > 0) {
+                diffPairNum++;
+            }
+        }
+
+        BatchMetrics toMetrics(long elapsedNanos) {
+            Arrays.sort(latencies, 0, size);
+            BatchMetrics metrics = new BatchMetrics();
+            metrics.setPairNum(size);
+            metrics.setDiffPairNum(diffPairNum);
+            metrics.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+            metrics.setPairsPerSecond(elapsedNanos == 0 ? 0 : size * 1e9 / elapsedNanos);
+            metrics.setP50Micros(TimeUnit.NANOSECONDS.toMicros(percentile(0.50)));
+            metrics.setP99Micros(TimeUnit.NANOSECONDS.toMicros(percentile(0.99)));
+            return metrics;
+        }
+
+        private long percentile(double percentile) {
+            if (size == 0) {
+                return 0;
+            }
+            return latencies[(int) Math.ceil(percentile * size) - 1];
+        }
+    }
+}
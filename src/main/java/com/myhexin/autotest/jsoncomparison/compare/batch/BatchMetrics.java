@@ -0,0 +1,52 @@
+package com.myhexin.autotest.jsoncomparison.compare.batch;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 批量对比的吞吐指标
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Data
+public class BatchMetrics implements Serializable {
+
+    /**
+     * 已对比的Json组数
+     */
+    @JsonProperty("pair_num")
+    private int pairNum;
+
+    /**
+     * 存在差异的Json组数
+     */
+    @JsonProperty("diff_pair_num")
+    private int diffPairNum;
+
+    /**
+     * 批量对比的总耗时, 单位: 毫秒
+     */
+    @JsonProperty("elapsed_millis")
+    private long elapsedMillis;
+
+    /**
+     * 每秒对比的Json组数
+     */
+    @JsonProperty("pairs_per_second")
+    private double pairsPerSecond;
+
+    /**
+     * 单组对比耗时的p50, 单位: 微秒
+     */
+    @JsonProperty("p50_micros")
+    private long p50Micros;
+
+    /**
+     * 单组对比耗时的p99, 单位: 微秒
+     */
+    @JsonProperty("p99_micros")
+    private long p99Micros;
+}
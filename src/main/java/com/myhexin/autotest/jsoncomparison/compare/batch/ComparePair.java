@@ -0,0 +1,28 @@
+package com.myhexin.autotest.jsoncomparison.compare.batch;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.Serializable;
+
+/**
+ * 批量对比中的一组实际Json与预期Json
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Data
+@AllArgsConstructor(staticName = "of")
+public class ComparePair implements Serializable {
+
+    /**
+     * 实际的JSON
+     */
+    private JsonNode actual;
+
+    /**
+     * 预期的JSON
+     */
+    private JsonNode expected;
+}
@@ -33,5 +33,11 @@ public final class CompareMessageConstant {
     public static final String DISORDER_ARRAY_ACTUAL_NOT_FOUND_IN_ACTUAL =
             "针对于乱序的数组, 在实际中未找到与预期相匹配的元素！";
 
+    public static final String ARRAY_ELEMENT_INSERTED =
+            "针对于对齐的有序数组, 实际中下标为[%s, %s)的%s个元素在预期中不存在";
+
+    public static final String ARRAY_ELEMENT_DELETED =
+            "针对于对齐的有序数组, 预期中下标为[%s, %s)的%s个元素在实际中不存在";
+
     private CompareMessageConstant() {}
 }
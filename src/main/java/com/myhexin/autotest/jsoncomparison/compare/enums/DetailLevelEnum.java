@@ -0,0 +1,28 @@
+package com.myhexin.autotest.jsoncomparison.compare.enums;
+
+import lombok.Getter;
+
+/**
+ * 对比结果的详细程度
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Getter
+public enum DetailLevelEnum {
+    /**
+     * 结果中包含差异信息以及子差异Json
+     */
+    FULL("包含差异信息以及子差异Json"),
+    /**
+     * 结果中只包含差异信息, 不构建子差异Json
+     */
+    BRIEF("只包含差异信息"),
+    ;
+
+    private final String msg;
+
+    DetailLevelEnum(String msg) {
+        this.msg = msg;
+    }
+}
@@ -22,8 +22,18 @@ public enum DiffEnum {
     LIST_LENGTH_NOT_EQUALS(8, "数组长度不一致"),
     DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED(9, "针对于乱序数组, 在预期中未找到与实际相匹配的元素"),
     DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL(10, "针对于乱序数组, 在实际中未找到与预期相匹配的元素"),
+    ARRAY_ELEMENT_INSERTED(11, "针对于对齐的有序数组, 实际中存在预期中没有的元素"),
+    ARRAY_ELEMENT_DELETED(12, "针对于对齐的有序数组, 预期中存在实际中没有的元素"),
     ;
 
+    private static final DiffEnum[] BY_TYPE = new DiffEnum[values().length];
+
+    static {
+        for (DiffEnum diffEnum : values()) {
+            BY_TYPE[diffEnum.type] = diffEnum;
+        }
+    }
+
     private final Integer type;
 
     private final String msg;
@@ -33,4 +43,16 @@ public enum DiffEnum {
         this.msg = msg;
     }
 
+    /**
+     * 根据差异类型获取枚举
+     *
+     * @param type 差异类型
+     * @return 不存在时返回null
+     */
+    public static DiffEnum of(Integer type) {
+        if (type == null || type < 0 || type >= BY_TYPE.length) {
+            return null;
+        }
+        return BY_TYPE[type];
+    }
 }
@@ -0,0 +1,28 @@
+package com.myhexin.autotest.jsoncomparison.compare.enums;
+
+import lombok.Getter;
+
+/**
+ * 乱序数组中没有唯一键的元素的匹配方式
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Getter
+public enum DisorderMatchModeEnum {
+    /**
+     * 只匹配完全一致的元素, 其余元素作为未找到处理
+     */
+    EXACT("只匹配完全一致的元素"),
+    /**
+     * 完全一致的元素匹配完成后, 剩余的元素按照差异数匹配最接近的元素, 并输出两者之间的具体差异
+     */
+    CLOSEST("匹配差异数最少的元素"),
+    ;
+
+    private final String msg;
+
+    DisorderMatchModeEnum(String msg) {
+        this.msg = msg;
+    }
+}
@@ -0,0 +1,35 @@
+package com.myhexin.autotest.jsoncomparison.compare.enums;
+
+import lombok.Getter;
+
+/**
+ * 数值容差的模式, 通过容差的后缀区分, 例如: 0.001、1%、4ulp
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Getter
+public enum TolerantModeEnum {
+    /**
+     * 绝对容差, 实际值与预期值的差值不超过容差
+     */
+    ABSOLUTE("", "绝对容差"),
+    /**
+     * 相对容差, 实际值与预期值的差值不超过两者中绝对值较大者的百分比
+     */
+    RELATIVE("%", "相对容差"),
+    /**
+     * 实际值与预期值转换为double后, 两者之间可表示的double个数不超过容差
+     */
+    ULP("ulp", "ULP距离"),
+    ;
+
+    private final String suffix;
+
+    private final String msg;
+
+    TolerantModeEnum(String suffix, String msg) {
+        this.suffix = suffix;
+        this.msg = msg;
+    }
+}
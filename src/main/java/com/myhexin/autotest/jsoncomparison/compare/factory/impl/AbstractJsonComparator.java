@@ -3,20 +3,36 @@ package com.myhexin.autotest.jsoncomparison.compare.factory.impl;
 import cn.hutool.core.text.CharSequenceUtil;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.DefaultSerializerProvider;
+import com.myhexin.autotest.jsoncomparison.compare.CompareContext;
 import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.DiffBudget;
+import com.myhexin.autotest.jsoncomparison.compare.EscapedJsonCache;
+import com.myhexin.autotest.jsoncomparison.compare.NumericComparator;
+import com.myhexin.autotest.jsoncomparison.compare.PathStack;
+import com.myhexin.autotest.jsoncomparison.compare.PreparedBaseline;
 import com.myhexin.autotest.jsoncomparison.compare.constant.CompareMessageConstant;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DetailLevelEnum;
 import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
 import com.myhexin.autotest.jsoncomparison.compare.factory.JsonComparator;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.compare.sink.DiffSink;
+import com.myhexin.autotest.jsoncomparison.compare.sink.ListDiffSink;
 import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.CompiledCompareConfig;
 import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.config.Tolerance;
 import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
 import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.function.ObjIntConsumer;
 
 
 /**
@@ -40,26 +56,333 @@ public abstract class AbstractJsonComparator<T extends JsonNode> implements Json
 
     @Override
     public boolean beforeCompare(CompareParams<T> params, BriefDiffResult result) {
+        return !isSkip(params) && isSameJsonNodeType(params, result);
+    }
+
+    /**
+     * 当前节点是否无需对比, 在创建结果对象之前调用, 一致的子树不会产生任何结果对象
+     *
+     * @param params 对比参数
+     * @return 配置了无需对比、差异数已达到上限或者实际与预期完全一致时返回true
+     */
+    boolean isSkip(CompareParams<T> params) {
+        if (getRules(params).isIgnore()) {
+            log.debug("当前路径{}配置了无需对比", getPathStack(params));
+            return true;
+        }
+        if (isExhausted(params)) {
+            return true;
+        }
+        // 直接先进行一波简单对比: 指纹不同则一定存在差异, 指纹相同时还需要排除哈希碰撞, 如果完全一致则不需要进行对比
+        return isSameFingerprint(params) && params.getExpected().equals(params.getActual());
+    }
+
+    @Override
+    public void afterCompare(BriefDiffResult result) {
+        result.setDiffNum(result.getBriefDiffs().size());
+    }
+
+    /**
+     * 获取当前路径所对应的规则, 如果上层没有传入则根据配置与当前路径进行编译
+     *
+     * @param params 对比参数
+     * @return 当前路径所对应的规则
+     */
+    protected PathRules getRules(CompareParams<? extends JsonNode> params) {
+        PathRules rules = params.getRules();
+        if (Objects.isNull(rules)) {
+            rules = CompiledCompareConfig.compile(params.getConfig()).resolve(params.getCurrentPath());
+            params.setRules(rules);
+        }
+        return rules;
+    }
+
+    /**
+     * 获取当前对比所共享的上下文, 如果上层没有传入则根据currentPath创建, 差异收集到列表中
+     *
+     * @param params 对比参数
+     * @return 上下文
+     */
+    protected CompareContext getContext(CompareParams<? extends JsonNode> params) {
+        CompareContext context = params.getContext();
+        if (Objects.isNull(context)) {
+            context = createContext(params, new ListDiffSink());
+        }
+        return context;
+    }
+
+    /**
+     * 为一次新的对比创建上下文
+     *
+     * @param params 根节点的对比参数
+     * @param sink   差异的接收者
+     * @return 上下文
+     */
+    CompareContext createContext(CompareParams<? extends JsonNode> params, DiffSink sink) {
         if (CharSequenceUtil.isBlank(params.getCurrentPath())) {
             params.setCurrentPath(ROOT_PATH);
         }
         if (!params.getCurrentPath().startsWith(JsonComparator.ROOT_PATH)) {
             params.setCurrentPath(ROOT_PATH + SPLIT_POINT + params.getCurrentPath());
         }
-        if (params.getConfig().isIgnorePath(params.getCurrentPath())) {
-            log.info("当前路径{}配置了无需对比", params.getCurrentPath());
+        PreparedBaseline baseline = params.getBaseline();
+        CompareContext context = new CompareContext(
+                new PathStack(params.getCurrentPath()), createFingerprints(params, baseline), sink, baseline
+        );
+        params.setContext(context);
+        return context;
+    }
+
+    /**
+     * 获取子节点的上下文, 子节点会被并行对比时, 每个子节点使用单独的路径栈与指纹表
+     *
+     * @param params 当前节点的对比参数
+     * @return 子节点的上下文, 调用方需要压入子节点的路径并在对比结束后弹出
+     */
+    protected CompareContext getChildContext(CompareParams<? extends JsonNode> params) {
+        CompareContext context = getContext(params);
+        return isParallel(params) ? context.fork(createFingerprints(params, context.getBaseline())) : context;
+    }
+
+    /**
+     * 获取子节点的对比参数, 对比参数从上下文中按照深度复用, 调用方需要先将子节点压入路径栈
+     *
+     * @param params   当前节点的对比参数
+     * @param context  子节点的上下文
+     * @param rules    子节点的规则
+     * @param actual   实际的子节点
+     * @param expected 预期的子节点
+     * @return 子节点的对比参数, 子节点对比结束后会被复用
+     */
+    protected CompareParams<JsonNode> getChildParams(CompareParams<? extends JsonNode> params, CompareContext context,
+                                                     PathRules rules, JsonNode actual, JsonNode expected) {
+        CompareParams<JsonNode> childParams = context.acquire();
+        childParams.setConfig(params.getConfig());
+        childParams.setRules(rules);
+        childParams.setBudget(getBudget(params));
+        childParams.setActual(actual);
+        childParams.setExpected(expected);
+        return childParams;
+    }
+
+    /**
+     * 对比子节点, 子节点使用并行对比的上下文时, 差异暂存在子节点的结果中, 由{@link #compareChildren}在合并时按照顺序交给接收者
+     *
+     * @param params      当前节点的对比参数
+     * @param context     子节点的上下文
+     * @param childParams 子节点的对比参数
+     * @return 子节点存在差异时返回结果, 否则返回null
+     */
+    protected BriefDiffResult contrastChild(CompareParams<? extends JsonNode> params, CompareContext context,
+                                            CompareParams<JsonNode> childParams) {
+        BriefDiffResult result = COMPARATOR_FACTORY.contrast(childParams.getActual().getNodeType(), childParams);
+        if (Objects.nonNull(result) && context != getContext(params)) {
+            result.setBriefDiffs(((ListDiffSink) context.getSink()).getDiffs());
+        }
+        return result;
+    }
+
+    /**
+     * 获取当前路径的路径栈
+     *
+     * @param params 对比参数
+     * @return 路径栈
+     */
+    protected PathStack getPathStack(CompareParams<? extends JsonNode> params) {
+        return getContext(params).getPath();
+    }
+
+    /**
+     * 拼接字段的路径
+     *
+     * @param params 当前节点的对比参数
+     * @param name   字段名
+     * @return 字段的路径
+     */
+    protected String getChildPath(CompareParams<? extends JsonNode> params, String name) {
+        PathStack path = getPathStack(params).push(name);
+        String childPath = path.toString();
+        path.pop();
+        return childPath;
+    }
+
+    /**
+     * 拼接数组元素的路径
+     *
+     * @param params 当前节点的对比参数
+     * @param index  下标
+     * @return 数组元素的路径
+     */
+    protected String getChildPath(CompareParams<? extends JsonNode> params, int index) {
+        PathStack path = getPathStack(params).push(index);
+        String childPath = path.toString();
+        path.pop();
+        return childPath;
+    }
+
+    /**
+     * 获取当前对比所共享的差异上限, 如果上层没有传入则根据配置创建
+     *
+     * @param params 对比参数
+     * @return 差异上限, 不限制时返回null
+     */
+    protected DiffBudget getBudget(CompareParams<? extends JsonNode> params) {
+        DiffBudget budget = params.getBudget();
+        if (Objects.isNull(budget) && Objects.nonNull(params.getConfig())) {
+            budget = DiffBudget.of(params.getConfig().getMaxDiffNum());
+            params.setBudget(budget);
+        }
+        return budget;
+    }
+
+    /**
+     * 差异数是否已达到上限
+     *
+     * @param params 对比参数
+     * @return 达到上限时返回true, 此时无需继续对比
+     */
+    protected boolean isExhausted(CompareParams<? extends JsonNode> params) {
+        DiffBudget budget = getBudget(params);
+        return Objects.nonNull(budget) && budget.isExhausted();
+    }
+
+    /**
+     * 是否需要构建子差异Json, 结果的详细程度为{@link DetailLevelEnum#BRIEF}或者设置了差异上限时只关心差异本身,
+     * 不再构建子差异Json
+     *
+     * @param params 对比参数
+     * @return 需要构建时返回true
+     */
+    protected boolean isBuildChildJson(CompareParams<? extends JsonNode> params) {
+        JsonCompareConfig config = params.getConfig();
+        if (Objects.nonNull(config) && config.getDetailLevel() == DetailLevelEnum.BRIEF) {
+            return false;
+        }
+        return Objects.isNull(getBudget(params));
+    }
+
+    /**
+     * 获取结果中的实际子差异Json, 首次获取时才会创建
+     *
+     * @param result 结果对象
+     * @return 实际子差异Json
+     */
+    protected ObjectNode getChildActualJson(BriefDiffResult result) {
+        return (ObjectNode) result.getChildActualJson();
+    }
+
+    /**
+     * 获取结果中的预期子差异Json, 首次获取时才会创建
+     *
+     * @param result 结果对象
+     * @return 预期子差异Json
+     */
+    protected ObjectNode getChildExpectedJson(BriefDiffResult result) {
+        return (ObjectNode) result.getChildExpectedJson();
+    }
+
+    /**
+     * 将一个差异交给当前对比的接收者, 差异数达到上限时不再添加
+     *
+     * @param params 对比参数
+     * @param diff   差异
+     * @return 添加成功时返回true
+     */
+    protected boolean addDiff(CompareParams<? extends JsonNode> params, BriefDiffResult.BriefDiff diff) {
+        DiffBudget budget = getBudget(params);
+        if (Objects.nonNull(budget) && !budget.tryConsume()) {
             return false;
         }
-        // 直接先进行一波简单对比，如果一致则不需要进行对比
-        if (params.getExpected().toString().equals(params.getActual().toString())) {
+        getContext(params).emit(diff);
+        return true;
+    }
+
+    /**
+     * 获取当前对比所共享的指纹表
+     *
+     * @param params 对比参数
+     * @return 指纹表
+     */
+    protected FingerprintTable getFingerprints(CompareParams<? extends JsonNode> params) {
+        return getContext(params).getFingerprints();
+    }
+
+    /**
+     * 存在预处理完成的预期Json时, 预期Json中的指纹直接从其指纹表中获取
+     */
+    private FingerprintTable createFingerprints(CompareParams<? extends JsonNode> params, PreparedBaseline baseline) {
+        return FingerprintTable.create(params.getConfig(), Objects.isNull(baseline) ? null : baseline.getFingerprints());
+    }
+
+    /**
+     * 实际与预期的子树指纹是否一致
+     *
+     * @param params 对比参数
+     * @return 指纹不一致时两者一定存在差异, 指纹未计算时视为一致
+     */
+    protected boolean isSameFingerprint(CompareParams<? extends JsonNode> params) {
+        PathRules rules = getRules(params);
+        FingerprintTable fingerprints = getFingerprints(params);
+        long actual = fingerprints.of(params.getActual(), rules);
+        return actual == FingerprintTable.UNKNOWN || actual == fingerprints.of(params.getExpected(), rules);
+    }
+
+    /**
+     * 当前节点的子节点是否需要并行对比, 乱序数组中的元素之间存在依赖, 不进行并行对比;
+     * 设置了差异上限时需要按照顺序消耗差异数, 同样不进行并行对比
+     *
+     * @param params 对比参数
+     * @return 开启了并行对比, 并且子节点数达到阈值时返回true
+     */
+    protected boolean isParallel(CompareParams<? extends JsonNode> params) {
+        JsonCompareConfig.ParallelConfig parallel = getParallelConfig(params);
+        JsonNode actual = params.getActual();
+        if (Objects.isNull(parallel) || Objects.nonNull(getBudget(params))
+                || !actual.isContainerNode() || actual.size() < getParallelThreshold(parallel)) {
             return false;
         }
-        return isSameJsonNodeType(params, result);
+        return !actual.isArray() || !getRules(params).isDisorder();
     }
 
-    @Override
-    public void afterCompare(BriefDiffResult result) {
-        result.setDiffNum(result.getBriefDiffs().size());
+    private JsonCompareConfig.ParallelConfig getParallelConfig(CompareParams<? extends JsonNode> params) {
+        JsonCompareConfig config = params.getConfig();
+        JsonCompareConfig.ParallelConfig parallel = Objects.isNull(config) ? null : config.getParallel();
+        return Objects.nonNull(parallel) && parallel.isEnabled() ? parallel : null;
+    }
+
+    private int getParallelThreshold(JsonCompareConfig.ParallelConfig parallel) {
+        return Math.max(2, parallel.getThreshold());
+    }
+
+    /**
+     * 对比当前节点下的所有子节点, 满足{@link #isParallel(CompareParams)}时拆分到多个线程中进行,
+     * 单线程对比时差异数达到上限后不再对比剩余的子节点
+     * <p>
+     * 无论是否并行, 合并总是在当前线程中按照下标顺序进行; 并行时每个子节点使用单独的上下文, 子任务之间不共享可变状态,
+     * 子节点的差异在合并前按照下标顺序交给接收者
+     *
+     * @param params  当前节点的对比参数
+     * @param size    子节点数
+     * @param compare 根据下标对比子节点, 不需要对比时可以返回null
+     * @param merge   按照下标顺序合并子节点的对比结果, 子节点没有差异时结果可能为null
+     */
+    protected void compareChildren(CompareParams<? extends JsonNode> params, int size,
+                                   IntFunction<BriefDiffResult> compare, ObjIntConsumer<BriefDiffResult> merge) {
+        if (!isParallel(params)) {
+            for (int i = 0; i < size && !isExhausted(params); i++) {
+                merge.accept(compare.apply(i), i);
+            }
+            return;
+        }
+        log.debug("当前路径[{}]下的子节点数为[{}], 进行并行对比", getPathStack(params), size);
+        BriefDiffResult[] results = ParallelCompareTask.invoke(size, compare);
+        CompareContext context = getContext(params);
+        for (int i = 0; i < size; i++) {
+            if (Objects.nonNull(results[i])) {
+                results[i].getBriefDiffs().forEach(context::emit);
+            }
+            merge.accept(results[i], i);
+        }
     }
 
     /**
@@ -73,28 +396,28 @@ public abstract class AbstractJsonComparator<T extends JsonNode> implements Json
     protected Optional<BriefDiffResult.BriefDiff> checkJsonNodeType(String path, JsonNode actual, JsonNode expected) {
         // 如果俩个jsonNode对象的type不一致则需要校验
         if (actual.getNodeType() != expected.getNodeType()) {
-            String reason;
+            Supplier<String> reason;
             DiffEnum diffEnum;
             if (actual.getNodeType() == JsonNodeType.NULL) {
-                reason = String.format(CompareMessageConstant.ONLY_IN_EXPECTED, expected.asText());
+                reason = () -> String.format(CompareMessageConstant.ONLY_IN_EXPECTED, expected.asText());
                 diffEnum = DiffEnum.ONLY_IN_EXPECTED;
             } else if (expected.getNodeType() == JsonNodeType.NULL) {
-                reason = String.format(CompareMessageConstant.ONLY_IN_ACTUAL, actual.asText());
+                reason = () -> String.format(CompareMessageConstant.ONLY_IN_ACTUAL, actual.asText());
                 diffEnum = DiffEnum.ONLY_IN_ACTUAL;
             } else {
-                reason = String.format(
+                reason = () -> String.format(
                         CompareMessageConstant.TYPE_UNEQUALS, actual.getNodeType(), expected.getNodeType()
                 );
                 diffEnum = DiffEnum.TYPE_UNEQUALS;
             }
             return Optional.of(
                     BriefDiffResult.BriefDiff.builder()
-                            .actual(actual.toString())
-                            .expected(expected.toString())
+                            .lazyActual(actual::toString)
+                            .lazyExpected(expected::toString)
                             .type(diffEnum.getType())
                             .msg(diffEnum.getMsg())
                             .diffKey(path)
-                            .reason(reason)
+                            .lazyReason(reason)
                             .build()
             );
         }
@@ -112,12 +435,16 @@ public abstract class AbstractJsonComparator<T extends JsonNode> implements Json
     protected <N extends JsonNode> boolean isSameJsonNodeType(CompareParams<N> params, BriefDiffResult result) {
         JsonNode expected = params.getExpected();
         JsonNode actual = params.getActual();
+        if (actual.getNodeType() == expected.getNodeType()) {
+            return true;
+        }
         Optional<BriefDiffResult.BriefDiff> optional = checkJsonNodeType(params.getCurrentPath(), actual, expected);
         optional.ifPresent(
                 diff -> {
-                    result.getBriefDiffs().add(diff);
-                    result.setChildExpectedJson(expected);
-                    result.setChildActualJson(actual);
+                    if (addDiff(params, diff) && isBuildChildJson(params)) {
+                        result.setChildExpectedJson(expected);
+                        result.setChildActualJson(actual);
+                    }
                 }
         );
         return !optional.isPresent();
@@ -128,41 +455,42 @@ public abstract class AbstractJsonComparator<T extends JsonNode> implements Json
      *
      * @param params
      * @param tolerantConfig
-     * @param actualText
-     * @param expectedText
+     * @param actual         实际的数值节点
+     * @param expected       预期的数值节点
      * @return
      */
     protected Optional<BriefDiffResult> tolerantCompare(
             CompareParams<JsonNode> params,
             JsonCompareConfig.TolerantConfig tolerantConfig,
-            String actualText,
-            String expectedText
+            JsonNode actual,
+            JsonNode expected
     ) {
-        BigDecimal actualNumber = new BigDecimal(actualText);
-        BigDecimal expectedNumber = new BigDecimal(expectedText);
-        String currentPath = params.getCurrentPath();
         if (Objects.nonNull(tolerantConfig)) {
-            log.debug("当前路径[{}]配置了允许容差, 允许的范围为: {}", currentPath, tolerantConfig.getTolerant());
-            BigDecimal tolerant = new BigDecimal(tolerantConfig.getTolerant());
-            BigDecimal max = actualNumber.add(tolerant);
-            BigDecimal min = actualNumber.subtract(tolerant);
-            if (max.compareTo(expectedNumber) < 0 || min.compareTo(expectedNumber) > 0) {
+            log.debug("当前路径[{}]配置了允许容差, 允许的范围为: {}", getPathStack(params), tolerantConfig.getTolerant());
+            PathRules rules = getRules(params);
+            // 容差在编译配置时已经解析, 只有未编译的配置才需要在这里解析
+            Tolerance tolerance = rules.getTolerantConfig() == tolerantConfig && Objects.nonNull(rules.getTolerance())
+                    ? rules.getTolerance() : Tolerance.parse(tolerantConfig.getTolerant());
+            if (!NumericComparator.isWithin(actual, expected, tolerance)) {
+                String actualText = actual.asText();
+                String expectedText = expected.asText();
                 BriefDiffResult.BriefDiff diff = BriefDiffResult.BriefDiff.builder()
                         .actual(actualText)
                         .expected(expectedText)
                         .type(DiffEnum.VALUE_UNEQUALS_WITH_TOLERANT.getType())
-                        .msg(CharSequenceUtil.format(DiffEnum.VALUE_UNEQUALS_WITH_TOLERANT.getMsg(), tolerant))
-                        .diffKey(currentPath)
-                        .reason(String.format(
+                        .lazyMsg(() -> CharSequenceUtil.format(DiffEnum.VALUE_UNEQUALS_WITH_TOLERANT.getMsg(), tolerance))
+                        .diffKey(params.getCurrentPath())
+                        .lazyReason(() -> String.format(
                                 CompareMessageConstant.VALUE_NOTEQUAL_WITH_TOLERANT,
-                                tolerant,
+                                tolerance,
                                 actualText,
                                 expectedText)
                         ).build();
                 BriefDiffResult result = new BriefDiffResult();
-                result.getBriefDiffs().add(diff);
-                result.setChildActualJson(params.getActual());
-                result.setChildExpectedJson(params.getExpected());
+                if (addDiff(params, diff) && isBuildChildJson(params)) {
+                    result.setChildActualJson(actual);
+                    result.setChildExpectedJson(expected);
+                }
                 return Optional.of(result);
             }
         }
@@ -184,31 +512,40 @@ public abstract class AbstractJsonComparator<T extends JsonNode> implements Json
             String actualText,
             String expectedText
     ) {
-        String currentPath = params.getCurrentPath();
         if (Objects.nonNull(escapedJson)) {
-            // 需要进行转义对比的字符串
-            JsonNode jsonNode1 = JsonUtils.getJsonNode(actualText);
-            JsonNode jsonNode2 = JsonUtils.getJsonNode(expectedText);
-            CompareParams<JsonNode> compareParams = CompareParams.builder()
-                    .actual(jsonNode1)
-                    .expected(jsonNode2)
-                    .config(escapedJson)
-                    .build();
-            BriefDiffResult diffResult = COMPARATOR_FACTORY.executeContrast(jsonNode1.getNodeType(), compareParams);
-            if (diffResult != null && !diffResult.getBriefDiffs().isEmpty()) {
+            // 需要进行转义对比的字符串, 相同内容的转义Json只解析和对比一次
+            EscapedJsonCache cache = EscapedJsonCache.shared();
+            EscapedJsonCache.Outcome outcome = cache.getOutcome(escapedJson, actualText, expectedText);
+            if (Objects.isNull(outcome)) {
+                JsonNode jsonNode1 = cache.parse(actualText);
+                JsonNode jsonNode2 = cache.parse(expectedText);
+                PathRules rules = getRules(params);
+                CompiledCompareConfig escapedConfig = rules.getEscapedJson() == escapedJson
+                        ? rules.getEscapedConfig() : CompiledCompareConfig.compile(escapedJson);
+                CompareParams<JsonNode> compareParams = CompareParams.builder()
+                        .actual(jsonNode1)
+                        .expected(jsonNode2)
+                        .config(escapedJson)
+                        .rules(escapedConfig.getRoot())
+                        .build();
+                BriefDiffResult diffResult = COMPARATOR_FACTORY.executeContrast(jsonNode1.getNodeType(), compareParams);
+                outcome = cache.putOutcome(escapedJson, actualText, expectedText, diffResult);
+            }
+            if (!outcome.isEqual()) {
                 BriefDiffResult.BriefDiff diff = BriefDiffResult.BriefDiff.builder()
                         .actual(actualText)
                         .expected(expectedText)
                         .type(DiffEnum.ESCAPED_COMPARE_NOT_EQUALS.getType())
                         .msg(DiffEnum.ESCAPED_COMPARE_NOT_EQUALS.getMsg())
-                        .diffKey(currentPath)
+                        .diffKey(params.getCurrentPath())
                         .reason(CompareMessageConstant.ESCAPED_COMPARE_NOT_EQUALS)
-                        .subDiffs(diffResult.getBriefDiffs())
+                        .subDiffs(outcome.getBriefDiffs())
                         .build();
                 BriefDiffResult result = new BriefDiffResult();
-                result.getBriefDiffs().add(diff);
-                result.setChildActualJson(diffResult.getChildActualJson());
-                result.setChildExpectedJson(diffResult.getChildExpectedJson());
+                if (addDiff(params, diff) && isBuildChildJson(params)) {
+                    result.setChildActualJson(outcome.getChildActualJson());
+                    result.setChildExpectedJson(outcome.getChildExpectedJson());
+                }
                 return Optional.of(result);
             }
         }
@@ -5,9 +5,20 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareContext;
 import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.DiffBudget;
+import com.myhexin.autotest.jsoncomparison.compare.PathStack;
 import com.myhexin.autotest.jsoncomparison.compare.constant.CompareMessageConstant;
 import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DisorderMatchModeEnum;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.compare.matcher.ArrayAligner;
+import com.myhexin.autotest.jsoncomparison.compare.matcher.ClosestElementMatcher;
+import com.myhexin.autotest.jsoncomparison.compare.matcher.ExpectedElementIndex;
+import com.myhexin.autotest.jsoncomparison.compare.sink.DiffSink;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.config.UniqueKey;
 import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
 import lombok.extern.slf4j.Slf4j;
 
@@ -27,7 +38,12 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
     private static final String UNIQUE_KEY_INDEX_TEMP = "当前唯一键[{}][{}], 下标为[{}]";
     private static final String UNIQUE_KEY_NOT_EXIST_TEMP = "当前唯一键[{}][{}]不存在";
     private static final String INDEX_TEMP = "下标为{}";
-    private static final String PATH_TEMP = "{}[{}]";
+    private static final String CLOSEST_REASON_TEMP = "与预期中下标为[{}]的元素最接近, {}";
+
+    /**
+     * 对齐有序数组时编辑距离的上限, 超过后退化为按下标对比
+     */
+    private static final int MAX_ALIGN_EDIT_DISTANCE = 1024;
 
     @Override
     public BriefDiffResult compare(CompareParams<ArrayNode> params) {
@@ -37,32 +53,38 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
         Boolean isActualArrayLonger = null;
         if (actualSize != expectedSize) {
             isActualArrayLonger = actualSize > expectedSize;
-            result.getBriefDiffs().add(buildLengthNotEqualDiff(params.getCurrentPath(), actualSize, expectedSize));
+            addDiff(params, buildLengthNotEqualDiff(params.getCurrentPath(), actualSize, expectedSize));
         }
         int size = Math.min(actualSize, expectedSize);
+        boolean buildChildJson = isBuildChildJson(params);
         if (size == 0) {
+            if (!buildChildJson) {
+                return result;
+            }
             ArrayNode childActualJson = JsonNodeFactory.instance.arrayNode().addAll(params.getActual());
             ArrayNode childExpectedJson = JsonNodeFactory.instance.arrayNode().addAll(params.getExpected());
             result.setChildActualJson(childActualJson);
             result.setChildExpectedJson(childExpectedJson);
             return result;
         }
-        if (params.getConfig().isWithDisorderPath(params.getCurrentPath())) {
-            log.debug("当前路径[{}]配置了支持乱序的数组对比...", params.getCurrentPath());
+        if (getRules(params).isDisorder()) {
+            log.debug("当前路径[{}]配置了支持乱序的数组对比...", getPathStack(params));
             compareWithDisorderArray(params, result);
+        } else if (compareAlignedArray(params, result)) {
+            log.debug("当前路径[{}]按照元素对齐后完成对比", getPathStack(params));
         } else {
             compareArray(params, result, size);
-            if (Objects.isNull(isActualArrayLonger)) {
+            if (Objects.isNull(isActualArrayLonger) || !buildChildJson) {
                 return result;
             }
             // 如果存在数组长度不一致, 则将多的元素添加到子差异json中
             if (Boolean.TRUE.equals(isActualArrayLonger)) {
                 for (int i = expectedSize; i < actualSize; i++) {
-                    ((ObjectNode) result.getChildActualJson()).set(getIndexString(i), params.getActual().get(i));
+                    getChildActualJson(result).set(getIndexString(i), params.getActual().get(i));
                 }
             } else {
                 for (int i = actualSize; i < expectedSize; i++) {
-                    ((ObjectNode) result.getChildExpectedJson()).set(getIndexString(i), params.getExpected().get(i));
+                    getChildExpectedJson(result).set(getIndexString(i), params.getExpected().get(i));
                 }
             }
 
@@ -83,129 +105,351 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
      * @param size
      */
     private void compareArray(CompareParams<ArrayNode> params, BriefDiffResult result, int size) {
-        ObjectNode childActualJson = JsonNodeFactory.instance.objectNode();
-        ObjectNode childExpectedJson = JsonNodeFactory.instance.objectNode();
-        for (int index = 0; index < size; index++) {
-            String path = CharSequenceUtil.format(PATH_TEMP, params.getCurrentPath(), index);
-            JsonNode node1 = params.getActual().get(index);
-            JsonNode node2 = params.getExpected().get(index);
-            CompareParams<JsonNode> compareParams = bulidCompareParams(params, path, node1, node2);
-            BriefDiffResult diffResult = COMPARATOR_FACTORY.executeContrast(node1.getNodeType(), compareParams);
-            if (Objects.isNull(diffResult) || diffResult.getBriefDiffs().isEmpty()) {
+        boolean buildChildJson = isBuildChildJson(params);
+        compareChildren(params, size, index -> {
+            CompareContext context = getChildContext(params);
+            context.getPath().push(index);
+            try {
+                JsonNode node1 = params.getActual().get(index);
+                JsonNode node2 = params.getExpected().get(index);
+                CompareParams<JsonNode> compareParams = bulidCompareParams(params, context, index, node1, node2);
+                return contrastChild(params, context, compareParams);
+            } finally {
+                context.getPath().pop();
+            }
+        }, (diffResult, index) -> {
+            if (Objects.nonNull(diffResult) && buildChildJson) {
+                String indexString = getIndexString(index);
+                getChildActualJson(result).set(indexString, diffResult.getChildActualJson());
+                getChildExpectedJson(result).set(indexString, diffResult.getChildExpectedJson());
+            }
+        });
+    }
+
+    /**
+     * 按照元素指纹对齐后对比有序的数组, 只有对齐的元素才会递归对比, 插入以及删除的连续元素各产生一个差异
+     * <p>
+     * 配置了按下标的规则时元素的指纹与下标有关, 无法对齐; 编辑距离超过{@link #MAX_ALIGN_EDIT_DISTANCE}时同样放弃对齐
+     *
+     * @param params
+     * @param result
+     * @return 未配置对齐或者无法对齐时返回false, 由调用方按下标对比
+     */
+    private boolean compareAlignedArray(CompareParams<ArrayNode> params, BriefDiffResult result) {
+        PathRules rules = getRules(params);
+        if (!rules.isAligned() || rules.hasIndexRules()) {
+            return false;
+        }
+        ArrayNode actual = params.getActual();
+        ArrayNode expected = params.getExpected();
+        List<ArrayAligner.Segment> segments = ArrayAligner.align(
+                fingerprints(params, actual), fingerprints(params, expected), MAX_ALIGN_EDIT_DISTANCE
+        );
+        if (Objects.isNull(segments)) {
+            log.debug("当前路径[{}]的数组差异过大, 按照下标进行对比", getPathStack(params));
+            return false;
+        }
+        // 对齐的元素统一对比, 插入以及删除的片段在其之前的元素合并之后产生差异, 保证差异按照下标顺序排列
+        int pairNum = 0;
+        for (ArrayAligner.Segment segment : segments) {
+            if (isAlignedPair(segment)) {
+                pairNum += segment.getLength();
+            }
+        }
+        int[] actualIndexes = new int[pairNum];
+        int[] expectedIndexes = new int[pairNum];
+        List<List<ArrayAligner.Segment>> editsAfter = new ArrayList<>(Collections.nCopies(pairNum + 1, null));
+        int p = 0;
+        for (ArrayAligner.Segment segment : segments) {
+            if (isAlignedPair(segment)) {
+                for (int k = 0; k < segment.getLength(); k++, p++) {
+                    actualIndexes[p] = segment.getActualStart() + k;
+                    expectedIndexes[p] = segment.getExpectedStart() + k;
+                }
+            } else {
+                if (Objects.isNull(editsAfter.get(p))) {
+                    editsAfter.set(p, new ArrayList<>(2));
+                }
+                editsAfter.get(p).add(segment);
+            }
+        }
+
+        boolean buildChildJson = isBuildChildJson(params);
+        addEdits(params, result, editsAfter.get(0));
+        compareChildren(params, pairNum, k -> {
+            CompareContext context = getChildContext(params);
+            context.getPath().push(actualIndexes[k]);
+            try {
+                CompareParams<JsonNode> compareParams = bulidCompareParams(params, context, actualIndexes[k],
+                        actual.get(actualIndexes[k]), expected.get(expectedIndexes[k]));
+                return contrastChild(params, context, compareParams);
+            } finally {
+                context.getPath().pop();
+            }
+        }, (diffResult, k) -> {
+            if (Objects.nonNull(diffResult) && buildChildJson) {
+                getChildActualJson(result).set(getIndexString(actualIndexes[k]), diffResult.getChildActualJson());
+                getChildExpectedJson(result).set(getIndexString(expectedIndexes[k]), diffResult.getChildExpectedJson());
+            }
+            addEdits(params, result, editsAfter.get(k + 1));
+        });
+        return true;
+    }
+
+    private static boolean isAlignedPair(ArrayAligner.Segment segment) {
+        return segment.getKind() == ArrayAligner.Kind.SAME || segment.getKind() == ArrayAligner.Kind.CHANGED;
+    }
+
+    private long[] fingerprints(CompareParams<ArrayNode> params, ArrayNode array) {
+        PathRules rules = getRules(params);
+        FingerprintTable fingerprints = getFingerprints(params);
+        long[] result = new long[array.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = fingerprints.of(array.get(i), rules.element(i));
+        }
+        return result;
+    }
+
+    /**
+     * 插入以及删除的片段, 每个片段产生一个差异
+     */
+    private void addEdits(CompareParams<ArrayNode> params, BriefDiffResult result, List<ArrayAligner.Segment> edits) {
+        if (Objects.isNull(edits)) {
+            return;
+        }
+        boolean buildChildJson = isBuildChildJson(params);
+        for (ArrayAligner.Segment edit : edits) {
+            boolean inserted = edit.getKind() == ArrayAligner.Kind.INSERTED;
+            ArrayNode array = inserted ? params.getActual() : params.getExpected();
+            int from = inserted ? edit.getActualStart() : edit.getExpectedStart();
+            int to = from + edit.getLength();
+            BriefDiffResult.BriefDiff diff = inserted
+                    ? buildElementInsertedDiff(getChildPath(params, from), array, from, to)
+                    : buildElementDeletedDiff(getChildPath(params, from), array, from, to);
+            if (!addDiff(params, diff) || !buildChildJson) {
                 continue;
             }
-            String indexString = getIndexString(index);
-            result.getBriefDiffs().addAll(diffResult.getBriefDiffs());
-            childActualJson.set(indexString, diffResult.getChildActualJson());
-            childExpectedJson.set(indexString, diffResult.getChildExpectedJson());
+            ObjectNode childJson = inserted ? getChildActualJson(result) : getChildExpectedJson(result);
+            for (int i = from; i < to; i++) {
+                childJson.set(getIndexString(i), array.get(i));
+            }
         }
-        result.setChildActualJson(childActualJson);
-        result.setChildExpectedJson(childExpectedJson);
     }
 
     /**
      * 对比无序的数组
+     * <p>
+     * 先对预期数组建立索引, 实际数组中的每个元素只需要与索引中的候选元素进行对比.
+     * 匹配方式为{@link DisorderMatchModeEnum#CLOSEST}时, 没有唯一键并且未找到一致元素的实际元素会在最后统一匹配最接近的预期元素
      *
      * @param params
      * @param result
      */
-    @SuppressWarnings("all")
     private void compareWithDisorderArray(CompareParams<ArrayNode> params, BriefDiffResult result) {
-        ObjectNode childActualJson = JsonNodeFactory.instance.objectNode();
-        ObjectNode childExpectedJson = JsonNodeFactory.instance.objectNode();
-        int expectedSize = params.getExpected().size();
-        ArrayList<String> matchedPath = new ArrayList<>();
-        JsonNode valueOfActualUniqueKey = null;
-        String uniqueKey = params.getConfig().getArrayWithDisorderUniqueKey(params.getCurrentPath());
+        PathRules rules = getRules(params);
+        String uniqueKey = rules.getUniqueKey();
+        UniqueKey compiledUniqueKey = rules.getCompiledUniqueKey();
+        CompareContext context = getContext(params);
+        ExpectedElementIndex expectedIndex = context.getExpectedIndex(params.getExpected(), rules);
+        boolean[] matched = new boolean[params.getExpected().size()];
+        boolean buildChildJson = isBuildChildJson(params);
+        PathStack path = context.getPath();
+        boolean closest = rules.getDisorderConfig().getMatchMode() == DisorderMatchModeEnum.CLOSEST;
+        int[] unmatched = closest ? new int[params.getActual().size()] : null;
+        int unmatchedNum = 0;
 
-        for (int i = 0; i < params.getActual().size(); i++) {
-            JsonNode actualJsonNode = params.getActual().get(i);
-            String actualPath = CharSequenceUtil.format(PATH_TEMP, params.getCurrentPath(), i);
-            String actualIndexString = getIndexString(i);
-            if (CharSequenceUtil.isNotBlank(uniqueKey)) {
-                valueOfActualUniqueKey = actualJsonNode.get(uniqueKey);
-            }
-            for (int j = 0; j < expectedSize; j++) {
-                String expectedPath = CharSequenceUtil.format(PATH_TEMP, params.getCurrentPath(), j);
-                JsonNode expectedJsonNode = params.getExpected().get(j);
-                CompareParams<JsonNode> compareParams = bulidCompareParams(params, actualPath, actualJsonNode, expectedJsonNode);
+        for (int i = 0; i < params.getActual().size() && !isExhausted(params); i++) {
+            path.push(i);
+            try {
+                JsonNode actualJsonNode = params.getActual().get(i);
+                JsonNode valueOfActualUniqueKey = Objects.nonNull(compiledUniqueKey)
+                        ? compiledUniqueKey.valueOf(actualJsonNode) : null;
                 if (Objects.nonNull(valueOfActualUniqueKey)) {
-                    actualIndexString = getUniqueKeyIndexString(uniqueKey, i, valueOfActualUniqueKey);
-                    // 如果根据唯一键匹配到了, 则只该元素对比即可
-                    if (valueOfActualUniqueKey.equals(expectedJsonNode.get(uniqueKey))) {
-                        matchedPath.add(expectedPath);
-                        String expectedIndexString = getUniqueKeyIndexString(uniqueKey, j, valueOfActualUniqueKey);
-                        BriefDiffResult diffResult = COMPARATOR_FACTORY.executeContrast(actualJsonNode.getNodeType(), compareParams);
-                        if (!diffResult.getBriefDiffs().isEmpty()) {
-                            final JsonNode finalValueOfActualUniqueKey = valueOfActualUniqueKey;
-                            diffResult.getBriefDiffs().forEach(d ->
-                                    d.setReason(getUniqueReason(uniqueKey, finalValueOfActualUniqueKey, d.getReason()))
-                            );
-                            childActualJson.set(actualIndexString, diffResult.getChildActualJson());
-                            childExpectedJson.set(expectedIndexString, diffResult.getChildExpectedJson());
-                            result.getBriefDiffs().addAll(diffResult.getBriefDiffs());
+                    String actualIndexString = getUniqueKeyIndexString(uniqueKey, i, valueOfActualUniqueKey);
+                    int j = expectedIndex.findByUniqueKey(valueOfActualUniqueKey);
+                    if (j < 0) {
+                        // 预期数组中不存在这个唯一键则标记在预期中不存在这个唯一键
+                        boolean added = addDiff(params,
+                                buildElementNotFoundInExpectedDiff(path.toString(), valueOfActualUniqueKey, actualJsonNode)
+                        );
+                        if (added && buildChildJson) {
+                            getChildActualJson(result).set(actualIndexString, actualJsonNode);
+                            getChildExpectedJson(result).set(getUniqueKeyNotExist(valueOfActualUniqueKey, uniqueKey), null);
                         }
-                        break;
+                        continue;
                     }
-                    // 如果遍历了整个预期JSON数组都没有发现这个唯一键则标记在预期中不存在这个唯一键
-                    if (j + 1 == expectedSize) {
-                        result.getBriefDiffs().add(
-                                buildElementNotFoundInExpectedDiff(actualPath, valueOfActualUniqueKey, actualJsonNode)
-                        );
-                        childActualJson.set(actualIndexString, actualJsonNode);
-                        childExpectedJson.set(getUniqueKeyNotExist(valueOfActualUniqueKey, uniqueKey), null);
+                    // 如果根据唯一键匹配到了, 则只与该元素对比即可
+                    matched[j] = true;
+                    context.getMetrics().onDisorderPairEvaluated();
+                    CompareParams<JsonNode> compareParams =
+                            bulidCompareParams(params, context, i, actualJsonNode, params.getExpected().get(j));
+                    // 子树中产生的差异在交给接收者之前需要补充唯一键的信息
+                    DiffSink sink = context.getSink();
+                    context.setSink(diff -> {
+                        diff.mapReason(reason -> getUniqueReason(uniqueKey, valueOfActualUniqueKey, reason));
+                        sink.accept(diff);
+                    });
+                    BriefDiffResult diffResult;
+                    try {
+                        diffResult = COMPARATOR_FACTORY.contrast(actualJsonNode.getNodeType(), compareParams);
+                    } finally {
+                        context.setSink(sink);
                     }
-                } else {
-                    // 未匹配到唯一键或者未设置唯一键则走普通的对比逻辑, 双重for遍历每个数组元素
-                    BriefDiffResult diffResult = COMPARATOR_FACTORY.executeContrast(actualJsonNode.getNodeType(), compareParams);
-                    // 如果俩个json串没有差异信息则代表在预期中匹配到了
-                    if (diffResult.getBriefDiffs().isEmpty()) {
-                        matchedPath.add(expectedPath);
-                        break;
+                    if (Objects.nonNull(diffResult) && buildChildJson) {
+                        String expectedIndexString = getUniqueKeyIndexString(uniqueKey, j, valueOfActualUniqueKey);
+                        getChildActualJson(result).set(actualIndexString, diffResult.getChildActualJson());
+                        getChildExpectedJson(result).set(expectedIndexString, diffResult.getChildExpectedJson());
                     }
-                    if (j + 1 == expectedSize) {
-                        // 如果遍历整个预期数组都没有找到与实际数组下此元素相同的元素则标记此元素在预期中不存在
-                        result.getBriefDiffs().add(buildElementNotFoundInExceptedDiff(actualPath, actualJsonNode));
-                        childActualJson.set(actualIndexString, actualJsonNode);
+                } else {
+                    // 未设置唯一键或者元素中不存在唯一键, 则只与结构哈希相同的预期元素进行对比
+                    int j = findEqualElement(params, i, context, actualJsonNode, expectedIndex);
+                    if (j >= 0) {
+                        matched[j] = true;
+                    } else if (closest) {
+                        unmatched[unmatchedNum++] = i;
+                    } else {
+                        // 如果所有的候选元素都与实际数组下此元素不同则标记此元素在预期中不存在
+                        if (addDiff(params, buildElementNotFoundInExceptedDiff(path.toString(), actualJsonNode))
+                                && buildChildJson) {
+                            getChildActualJson(result).set(getIndexString(i), actualJsonNode);
+                        }
                     }
                 }
+            } finally {
+                path.pop();
             }
         }
 
+        if (unmatchedNum > 0) {
+            compareWithClosestElement(params, result, matched, Arrays.copyOf(unmatched, unmatchedNum));
+        }
         // 再次遍历预期数组, 防止有元素在预期中存在而在实际中不存在
-        ArrayList<BriefDiffResult.BriefDiff> diffs =
-                findElementNotInActual(params, childActualJson, childExpectedJson, matchedPath, uniqueKey);
-        result.getBriefDiffs().addAll(diffs);
-        result.setChildExpectedJson(childExpectedJson);
-        result.setChildActualJson(childActualJson);
+        findElementNotInActual(params, result, matched, uniqueKey, expectedIndex);
+    }
+
+    /**
+     * 为未找到一致元素的实际元素匹配差异数最少的预期元素, 匹配到的两个元素输出具体的差异, 否则标记在预期中不存在
+     *
+     * @param params
+     * @param result
+     * @param matched       预期元素是否已匹配
+     * @param actualIndexes 未匹配的实际元素下标, 升序
+     */
+    private void compareWithClosestElement(CompareParams<ArrayNode> params, BriefDiffResult result, boolean[] matched,
+                                           int[] actualIndexes) {
+        int[] expectedIndexes = new int[matched.length];
+        int expectedNum = 0;
+        for (int j = 0; j < matched.length; j++) {
+            if (!matched[j]) {
+                expectedIndexes[expectedNum++] = j;
+            }
+        }
+        CompareContext context = getContext(params);
+        PathStack path = context.getPath();
+        ClosestElementMatcher matcher = new ClosestElementMatcher(params.getActual(), params.getExpected(),
+                getRules(params), getFingerprints(params), (i, j, limit) -> {
+                    context.getMetrics().onDisorderPairEvaluated();
+                    JsonNode actualJsonNode = params.getActual().get(i);
+                    path.push(i);
+                    try {
+                        CompareParams<JsonNode> compareParams = bulidCompareParams(
+                                params, context.trial(), i, actualJsonNode, params.getExpected().get(j)
+                        );
+                        compareParams.setBudget(DiffBudget.of(limit));
+                        BriefDiffResult diffResult = COMPARATOR_FACTORY.contrast(actualJsonNode.getNodeType(), compareParams);
+                        return Objects.isNull(diffResult) ? 0 : diffResult.getDiffNum();
+                    } finally {
+                        path.pop();
+                    }
+                });
+        int[] pairs = matcher.match(actualIndexes, Arrays.copyOf(expectedIndexes, expectedNum));
+
+        boolean buildChildJson = isBuildChildJson(params);
+        for (int k = 0; k < actualIndexes.length && !isExhausted(params); k++) {
+            int i = actualIndexes[k];
+            int j = pairs[k];
+            JsonNode actualJsonNode = params.getActual().get(i);
+            path.push(i);
+            try {
+                if (j < 0) {
+                    if (addDiff(params, buildElementNotFoundInExceptedDiff(path.toString(), actualJsonNode))
+                            && buildChildJson) {
+                        getChildActualJson(result).set(getIndexString(i), actualJsonNode);
+                    }
+                    continue;
+                }
+                matched[j] = true;
+                CompareParams<JsonNode> compareParams =
+                        bulidCompareParams(params, context, i, actualJsonNode, params.getExpected().get(j));
+                DiffSink sink = context.getSink();
+                context.setSink(diff -> {
+                    diff.mapReason(reason -> CharSequenceUtil.format(CLOSEST_REASON_TEMP, j, reason));
+                    sink.accept(diff);
+                });
+                BriefDiffResult diffResult;
+                try {
+                    diffResult = COMPARATOR_FACTORY.contrast(actualJsonNode.getNodeType(), compareParams);
+                } finally {
+                    context.setSink(sink);
+                }
+                if (Objects.nonNull(diffResult) && buildChildJson) {
+                    getChildActualJson(result).set(getIndexString(i), diffResult.getChildActualJson());
+                    getChildExpectedJson(result).set(getIndexString(j), diffResult.getChildExpectedJson());
+                }
+            } finally {
+                path.pop();
+            }
+        }
     }
 
-    private ArrayList<BriefDiffResult.BriefDiff> findElementNotInActual(
+    /**
+     * 在候选的预期元素中查找与实际元素完全一致的元素
+     * <p>
+     * 只需要知道两者是否一致, 因此每个候选元素使用单独的差异上限, 遇到第一个差异即停止, 并且在试探对比的上下文中进行, 差异不会交给接收者
+     *
+     * @return 第一个一致的预期元素下标, 不存在时返回-1
+     */
+    private int findEqualElement(CompareParams<ArrayNode> params, int actualIndex, CompareContext context,
+                                 JsonNode actualJsonNode, ExpectedElementIndex expectedIndex) {
+        for (int j : expectedIndex.candidates(actualJsonNode, actualIndex, context.getFingerprints())) {
+            context.getMetrics().onDisorderPairEvaluated();
+            CompareParams<JsonNode> compareParams =
+                    bulidCompareParams(params, context.trial(), actualIndex, actualJsonNode, params.getExpected().get(j));
+            compareParams.setBudget(DiffBudget.equalityOnly());
+            // 如果俩个json串没有差异信息则代表在预期中匹配到了
+            if (Objects.isNull(COMPARATOR_FACTORY.contrast(actualJsonNode.getNodeType(), compareParams))) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    private void findElementNotInActual(
             CompareParams<ArrayNode> params,
-            ObjectNode childActualJson,
-            ObjectNode childExpectedJson,
-            ArrayList<String> matchedPath,
-            String uniqueKey
+            BriefDiffResult result,
+            boolean[] matched,
+            String uniqueKey,
+            ExpectedElementIndex expectedIndex
     ) {
-        ArrayList<BriefDiffResult.BriefDiff> diffs = new ArrayList<>();
-        for (int i = 0; i < params.getExpected().size(); i++) {
-            String expectedPath = CharSequenceUtil.format(PATH_TEMP, params.getCurrentPath(), i);
-            if (matchedPath.contains(expectedPath)) {
+        boolean buildChildJson = isBuildChildJson(params);
+        for (int i = 0; i < params.getExpected().size() && !isExhausted(params); i++) {
+            if (matched[i]) {
                 continue;
             }
+            String expectedPath = getChildPath(params, i);
             JsonNode expectedJsonNode = params.getExpected().get(i);
-            JsonNode valueOfExpectedUniqueKey = expectedJsonNode.get(uniqueKey);
+            JsonNode valueOfExpectedUniqueKey = expectedIndex.uniqueKeyOf(i);
             if (Objects.nonNull(valueOfExpectedUniqueKey)) {
                 BriefDiffResult.BriefDiff diff = buildElementNotFoundInActualDiff(expectedPath, valueOfExpectedUniqueKey, expectedJsonNode);
-                diffs.add(diff);
-                childExpectedJson.set(getUniqueKeyIndexString(uniqueKey, i, valueOfExpectedUniqueKey), expectedJsonNode);
-                childActualJson.set(getUniqueKeyNotExist(valueOfExpectedUniqueKey, uniqueKey), null);
-            } else {
-                diffs.add(buildElementNotFoundInActualDiff(expectedPath, expectedJsonNode));
-                childExpectedJson.set(getIndexString(i), expectedJsonNode);
+                if (addDiff(params, diff) && buildChildJson) {
+                    getChildExpectedJson(result).set(getUniqueKeyIndexString(uniqueKey, i, valueOfExpectedUniqueKey), expectedJsonNode);
+                    getChildActualJson(result).set(getUniqueKeyNotExist(valueOfExpectedUniqueKey, uniqueKey), null);
+                }
+            } else if (addDiff(params, buildElementNotFoundInActualDiff(expectedPath, expectedJsonNode))
+                    && buildChildJson) {
+                getChildExpectedJson(result).set(getIndexString(i), expectedJsonNode);
             }
         }
-        return diffs;
     }
 
     private String getUniqueReason(String uniqueKey, JsonNode finalValueOfActualUniqueKey, String originReason) {
@@ -231,16 +475,13 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
      * 构建对比时所必须的参数
      *
      * @param params
+     * @param context 子节点的上下文
+     * @param index   实际数组中的下标
      * @return
      */
-    private CompareParams<JsonNode> bulidCompareParams(
-            CompareParams<ArrayNode> params, String path, JsonNode actualJsonNode, JsonNode expectedJsonNode) {
-        return CompareParams.<JsonNode>builder()
-                .currentPath(path)
-                .actual(actualJsonNode)
-                .expected(expectedJsonNode)
-                .config(params.getConfig())
-                .build();
+    private CompareParams<JsonNode> bulidCompareParams(CompareParams<ArrayNode> params, CompareContext context, int index,
+                                                      JsonNode actualJsonNode, JsonNode expectedJsonNode) {
+        return getChildParams(params, context, getRules(params).element(index), actualJsonNode, expectedJsonNode);
     }
 
     private BriefDiffResult.BriefDiff buildElementNotFoundInExceptedDiff(String actualPath, JsonNode actualJsonNode) {
@@ -250,7 +491,7 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
                 .reason(CompareMessageConstant.DISORDER_ARRAY_ACTUAL_NOT_FOUND_IN_EXCEPTED)
                 .type(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED.getType())
                 .msg(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED.getMsg())
-                .actual(actualJsonNode.toString())
+                .lazyActual(actualJsonNode::toString)
                 .expected(null)
                 .build();
         return diff;
@@ -264,7 +505,7 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
                 .type(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL.getType())
                 .msg(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL.getMsg())
                 .actual(null)
-                .expected(expectedJsonNode.toString())
+                .lazyExpected(expectedJsonNode::toString)
                 .build();
         return diff;
     }
@@ -276,10 +517,10 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
         diff = BriefDiffResult.BriefDiff.builder()
                 .type(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED.getType())
                 .msg(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED.getMsg())
-                .actual(actualJsonNode.toString())
-                .expected(String.format("当前uniqueKey[%s]不存在", valueOfActualUniqueKey))
+                .lazyActual(actualJsonNode::toString)
+                .lazyExpected(() -> String.format("当前uniqueKey[%s]不存在", valueOfActualUniqueKey))
                 .diffKey(actualPath)
-                .reason(String.format("当前uniqueKey[%s]在预期中不存在", valueOfActualUniqueKey))
+                .lazyReason(() -> String.format("当前uniqueKey[%s]在预期中不存在", valueOfActualUniqueKey))
                 .build();
         return diff;
     }
@@ -291,23 +532,53 @@ public class JsonArrayComparator extends AbstractJsonComparator<ArrayNode> {
         diff = BriefDiffResult.BriefDiff.builder()
                 .type(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL.getType())
                 .msg(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL.getMsg())
-                .actual(String.format("当前uniqueKey[%s]不存在", valueOfExpectedUniqueKey))
-                .expected(expectedJsonNode.toString())
+                .lazyActual(() -> String.format("当前uniqueKey[%s]不存在", valueOfExpectedUniqueKey))
+                .lazyExpected(expectedJsonNode::toString)
                 .diffKey(expectedPath)
-                .reason(String.format("当前uniqueKey[%s]在实际中不存在", valueOfExpectedUniqueKey))
+                .lazyReason(() -> String.format("当前uniqueKey[%s]在实际中不存在", valueOfExpectedUniqueKey))
                 .build();
         return diff;
     }
 
+    private BriefDiffResult.BriefDiff buildElementInsertedDiff(String actualPath, ArrayNode actual, int from, int to) {
+        return BriefDiffResult.BriefDiff.builder()
+                .diffKey(actualPath)
+                .type(DiffEnum.ARRAY_ELEMENT_INSERTED.getType())
+                .msg(DiffEnum.ARRAY_ELEMENT_INSERTED.getMsg())
+                .lazyActual(() -> subArray(actual, from, to).toString())
+                .expected(null)
+                .lazyReason(() -> String.format(CompareMessageConstant.ARRAY_ELEMENT_INSERTED, from, to, to - from))
+                .build();
+    }
+
+    private BriefDiffResult.BriefDiff buildElementDeletedDiff(String expectedPath, ArrayNode expected, int from, int to) {
+        return BriefDiffResult.BriefDiff.builder()
+                .diffKey(expectedPath)
+                .type(DiffEnum.ARRAY_ELEMENT_DELETED.getType())
+                .msg(DiffEnum.ARRAY_ELEMENT_DELETED.getMsg())
+                .actual(null)
+                .lazyExpected(() -> subArray(expected, from, to).toString())
+                .lazyReason(() -> String.format(CompareMessageConstant.ARRAY_ELEMENT_DELETED, from, to, to - from))
+                .build();
+    }
+
+    private static ArrayNode subArray(ArrayNode array, int from, int to) {
+        ArrayNode subArray = JsonNodeFactory.instance.arrayNode(to - from);
+        for (int i = from; i < to; i++) {
+            subArray.add(array.get(i));
+        }
+        return subArray;
+    }
+
     private BriefDiffResult.BriefDiff buildLengthNotEqualDiff(String currentPath, int actualSize, int expectedSize) {
         BriefDiffResult.BriefDiff diff;
         diff = BriefDiffResult.BriefDiff.builder()
-                .actual("实际的列表长度为: " + actualSize)
-                .expected("预期的列表长度为: " + expectedSize)
+                .lazyActual(() -> "实际的列表长度为: " + actualSize)
+                .lazyExpected(() -> "预期的列表长度为: " + expectedSize)
                 .diffKey(currentPath)
                 .type(DiffEnum.LIST_LENGTH_NOT_EQUALS.getType())
                 .msg(DiffEnum.LIST_LENGTH_NOT_EQUALS.getMsg())
-                .reason(String.format(CompareMessageConstant.LIST_LENGTH_NOT_EQUALS, actualSize, expectedSize))
+                .lazyReason(() -> String.format(CompareMessageConstant.LIST_LENGTH_NOT_EQUALS, actualSize, expectedSize))
                 .build();
         return diff;
     }
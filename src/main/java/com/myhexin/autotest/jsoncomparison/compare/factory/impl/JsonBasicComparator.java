@@ -2,13 +2,14 @@ package com.myhexin.autotest.jsoncomparison.compare.factory.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.NumericComparator;
 import com.myhexin.autotest.jsoncomparison.compare.constant.CompareMessageConstant;
 import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
 import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
 import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
 import lombok.extern.slf4j.Slf4j;
 
-import java.math.BigDecimal;
 import java.util.*;
 
 /**
@@ -26,9 +27,7 @@ public class JsonBasicComparator extends AbstractJsonComparator<JsonNode> {
         BriefDiffResult result = new BriefDiffResult();
         JsonNode actual = params.getActual();
         JsonNode expected = params.getExpected();
-        String actualText = actual.asText();
-        String expectedText = expected.asText();
-        String currentPath = params.getCurrentPath();
+        PathRules rules = getRules(params);
         boolean pass = false;
         switch (actual.getNodeType()) {
             // 如果实际为null则预期也一定为null
@@ -36,22 +35,20 @@ public class JsonBasicComparator extends AbstractJsonComparator<JsonNode> {
                 pass = true;
                 break;
             case NUMBER:
-                JsonCompareConfig.TolerantConfig tolerantConfig = params.getConfig().getTolerantConfig(currentPath);
+                JsonCompareConfig.TolerantConfig tolerantConfig = rules.getTolerantConfig();
                 if (Objects.nonNull(tolerantConfig)) {
-                    return tolerantCompare(params, tolerantConfig, actualText, expectedText).orElse(result);
+                    return tolerantCompare(params, tolerantConfig, actual, expected).orElse(result);
                 } else {
-                    BigDecimal actualNumber = new BigDecimal(actualText);
-                    BigDecimal expectedNumber = new BigDecimal(expectedText);
-                    pass = actualNumber.compareTo(expectedNumber) == 0;
+                    pass = NumericComparator.isEqual(actual, expected);
                     break;
                 }
             case STRING:
             case BINARY:
-                JsonCompareConfig.EscapedJson escapedJson = params.getConfig().getEscapedJson(currentPath);
+                JsonCompareConfig.EscapedJson escapedJson = rules.getEscapedJson();
                 if (Objects.nonNull(escapedJson)) {
-                    return escapedJsonCompare(params, escapedJson, actualText, expectedText).orElse(result);
+                    return escapedJsonCompare(params, escapedJson, actual.asText(), expected.asText()).orElse(result);
                 } else {
-                    pass = actualText.equals(expectedText);
+                    pass = actual.asText().equals(expected.asText());
                     break;
                 }
             case BOOLEAN:
@@ -61,8 +58,8 @@ public class JsonBasicComparator extends AbstractJsonComparator<JsonNode> {
                 log.warn("未知的类型, 当前实际Json与预期Json的类型为: {}", actual.getNodeType());
                 break;
         }
-        if (!pass) {
-            result.getBriefDiffs().add(buildValueUnEqualsDiff(currentPath, actualText, expectedText));
+        if (!pass && addDiff(params, buildValueUnEqualsDiff(params.getCurrentPath(), actual.asText(), expected.asText()))
+                && isBuildChildJson(params)) {
             result.setChildExpectedJson(expected);
             result.setChildActualJson(actual);
         }
@@ -77,7 +74,7 @@ public class JsonBasicComparator extends AbstractJsonComparator<JsonNode> {
                 .diffKey(currentPath)
                 .type(DiffEnum.VALUE_UNEQUALS.getType())
                 .msg(DiffEnum.VALUE_UNEQUALS.getMsg())
-                .reason(String.format(
+                .lazyReason(() -> String.format(
                         CompareMessageConstant.VALUE_UNEQUALS,
                         actualText,
                         expectedText)
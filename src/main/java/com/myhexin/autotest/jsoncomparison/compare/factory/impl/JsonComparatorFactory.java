@@ -2,12 +2,17 @@ package com.myhexin.autotest.jsoncomparison.compare.factory.impl;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.myhexin.autotest.jsoncomparison.compare.CompareContext;
 import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
 import com.myhexin.autotest.jsoncomparison.compare.factory.JsonComparator;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.CompareMetricsListener;
+import com.myhexin.autotest.jsoncomparison.compare.sink.DiffSink;
+import com.myhexin.autotest.jsoncomparison.compare.sink.ListDiffSink;
 import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * JSON对比器的工厂
@@ -18,11 +23,18 @@ import java.util.*;
 @Slf4j
 public final class JsonComparatorFactory {
 
-    private static final Map<JsonNodeType, JsonComparator<? extends JsonNode>> COMPARATOR_MAP =
+    private static final Map<JsonNodeType, AbstractJsonComparator<? extends JsonNode>> COMPARATOR_MAP =
             new EnumMap<>(JsonNodeType.class);
 
     private static final JsonComparatorFactory FACTORY = new JsonComparatorFactory();
 
+    static {
+        // 对比器均为无状态的, 提前创建好所有类型的对比器, 并行对比时无需对map加锁
+        for (JsonNodeType nodeType : JsonNodeType.values()) {
+            COMPARATOR_MAP.put(nodeType, createJsonComparator(nodeType));
+        }
+    }
+
     public static JsonComparatorFactory build() {
         return FACTORY;
     }
@@ -40,50 +52,98 @@ public final class JsonComparatorFactory {
      */
     @SuppressWarnings("unchecked")
     public <T extends JsonNode> JsonComparator<T> getJsonComparator(JsonNodeType nodeType) {
-        if (COMPARATOR_MAP.get(nodeType) != null) {
-            return (JsonComparator<T>) COMPARATOR_MAP.get(nodeType);
-        }
-        JsonComparator<? extends JsonNode> comparator;
+        return (JsonComparator<T>) COMPARATOR_MAP.get(nodeType);
+    }
+
+    private static AbstractJsonComparator<? extends JsonNode> createJsonComparator(JsonNodeType nodeType) {
         switch (nodeType) {
             case ARRAY:
-                comparator = new JsonArrayComparator();
-                break;
+                return new JsonArrayComparator();
             case OBJECT:
             case POJO:
-                comparator = new JsonObjectComparator();
-                break;
+                return new JsonObjectComparator();
             default:
-                comparator = new JsonBasicComparator();
-                break;
+                return new JsonBasicComparator();
         }
-        COMPARATOR_MAP.put(nodeType, comparator);
-        return (JsonComparator<T>) comparator;
     }
 
     public BriefDiffResult execute(JsonNodeType nodeType, CompareParams<JsonNode> params) {
         log.info("开始进行两个Json之间的对比");
-        long begin = System.currentTimeMillis();
+        long begin = System.nanoTime();
         BriefDiffResult result = executeContrast(nodeType, params);
-        log.info("当前对比操作完成, 当前两个Json之间的的差异数为: [{}], 当前Json对比耗时: [{}]",
-                result.getDiffNum(), System.currentTimeMillis() - begin);
+        log.info("当前对比操作完成, 当前两个Json之间的的差异数为: [{}], 当前Json对比耗时: [{}]ms",
+                result.getDiffNum(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
         return result;
     }
 
     /**
-     * 启动对比
+     * 启动对比, 与{@link #execute(JsonNodeType, CompareParams)}不同的是不会输出日志, 用于对子节点进行对比
      *
      * @param nodeType 当前的json类型Node
      * @param params   当前对比时所必须的参数
      * @return
      */
-     BriefDiffResult executeContrast(JsonNodeType nodeType, CompareParams<JsonNode> params) {
-        JsonComparator<JsonNode> comparator = getJsonComparator(nodeType);
+    public BriefDiffResult executeContrast(JsonNodeType nodeType, CompareParams<JsonNode> params) {
+        ListDiffSink sink = new ListDiffSink();
+        BriefDiffResult result = executeContrast(nodeType, params, sink);
+        result.setBriefDiffs(sink.getDiffs());
+        getJsonComparator(nodeType).afterCompare(result);
+        return result;
+    }
+
+    /**
+     * 启动对比, 差异产生时立即交给接收者, 返回的结果中只包含差异数与子差异Json, 不包含差异列表
+     *
+     * @param nodeType 当前的json类型Node
+     * @param params   当前对比时所必须的参数
+     * @param sink     差异的接收者
+     * @return 对比结果
+     */
+    @SuppressWarnings("unchecked")
+    public BriefDiffResult executeContrast(JsonNodeType nodeType, CompareParams<JsonNode> params, DiffSink sink) {
+        CompareContext context = ((AbstractJsonComparator<JsonNode>) COMPARATOR_MAP.get(nodeType)).createContext(params, sink);
+        BriefDiffResult result = contrast(nodeType, params);
+        if (Objects.isNull(result)) {
+            result = new BriefDiffResult();
+        }
+        result.setDiffNum(context.getDiffNum());
+        return result;
+    }
+
+    /**
+     * 对比子节点, 差异直接交给上下文中的接收者, 没有差异时返回null, 无需对比的子树不会创建任何结果对象
+     *
+     * @param nodeType 当前的json类型Node
+     * @param params   当前对比时所必须的参数
+     * @return 存在差异时返回结果, 其中的差异数为当前子树的差异数, 否则返回null
+     */
+    @SuppressWarnings("unchecked")
+    BriefDiffResult contrast(JsonNodeType nodeType, CompareParams<JsonNode> params) {
+        AbstractJsonComparator<JsonNode> comparator = (AbstractJsonComparator<JsonNode>) COMPARATOR_MAP.get(nodeType);
+        CompareContext context = comparator.getContext(params);
+        CompareMetricsListener metrics = context.getMetrics();
+        boolean timed = metrics != CompareMetricsListener.NOOP;
+        if (timed) {
+            metrics.onNodeVisited(nodeType);
+            metrics.onRuleLookup(!comparator.getRules(params).isEmpty());
+        }
+        if (comparator.isSkip(params)) {
+            return null;
+        }
+        long begin = timed ? System.nanoTime() : 0L;
+        int before = context.getDiffNum();
         BriefDiffResult result = new BriefDiffResult();
-        boolean needToCompare = comparator.beforeCompare(params, result);
-        if (needToCompare) {
+        if (comparator.isSameJsonNodeType(params, result)) {
             result = comparator.compare(params);
         }
-        comparator.afterCompare(result);
+        if (timed) {
+            metrics.onNodeCompared(nodeType, System.nanoTime() - begin);
+        }
+        int diffNum = context.getDiffNum() - before;
+        if (diffNum == 0) {
+            return null;
+        }
+        result.setDiffNum(diffNum);
         return result;
     }
 }
@@ -0,0 +1,81 @@
+package com.myhexin.autotest.jsoncomparison.compare.factory.impl;
+
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntFunction;
+
+/**
+ * 子节点的并行对比任务
+ * <p>
+ * 将同一个节点下的子节点按照下标区间进行二分拆分, 每个子节点的对比结果按照下标写入结果数组,
+ * 合并时仍然按照下标顺序进行, 保证差异的顺序与单线程对比一致
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+final class ParallelCompareTask extends RecursiveAction {
+
+    /**
+     * 每个工作线程平均拆分的任务数
+     */
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final IntFunction<BriefDiffResult> compare;
+
+    private final BriefDiffResult[] results;
+
+    private final int from;
+
+    private final int to;
+
+    private final int grain;
+
+    private ParallelCompareTask(IntFunction<BriefDiffResult> compare, BriefDiffResult[] results,
+                                int from, int to, int grain) {
+        this.compare = compare;
+        this.results = results;
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+    }
+
+    /**
+     * 并行对比所有的子节点
+     *
+     * @param size    子节点数
+     * @param compare 根据下标对比子节点
+     * @return 按照下标排列的对比结果, 没有差异的子节点为null
+     */
+    static BriefDiffResult[] invoke(int size, IntFunction<BriefDiffResult> compare) {
+        BriefDiffResult[] results = new BriefDiffResult[size];
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int grain = Math.max(1, size / (pool.getParallelism() * TASKS_PER_THREAD));
+        ParallelCompareTask task = new ParallelCompareTask(compare, results, 0, size, grain);
+        // 嵌套的大节点直接在当前的工作线程中继续拆分
+        if (inForkJoinPool()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        return results;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            for (int i = from; i < to; i++) {
+                BriefDiffResult result = compare.apply(i);
+                // 不保留没有差异的结果, 减少合并前的内存占用
+                results[i] = result == null || result.getBriefDiffs().isEmpty() ? null : result;
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(
+                new ParallelCompareTask(compare, results, from, middle, grain),
+                new ParallelCompareTask(compare, results, middle, to, grain)
+        );
+    }
+}
@@ -0,0 +1,329 @@
+package com.myhexin.autotest.jsoncomparison.compare.fingerprint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.NumericComparator;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Json子树指纹表
+ * <p>
+ * 结合对比规则为每个节点计算64位的结构指纹, 第一次获取某个节点的指纹时会自底向上计算整棵子树,
+ * 子树中每个节点的指纹都会按照节点的引用记录在表中, 后续获取时无需重复计算.
+ * <p>
+ * 保证在当前规则下对比结果一致的两个节点一定具有相同的指纹, 因此指纹不同的两个节点一定存在差异,
+ * 指纹相同的两个节点则可能存在哈希碰撞, 需要再进行一次真正的对比:
+ * <ul>
+ *     <li>忽略对比的路径只保留占位值</li>
+ *     <li>配置了容差的数值、配置了转义对比的字符串只保留类型</li>
+ *     <li>乱序数组的元素指纹与顺序无关</li>
+ *     <li>配置了字段映射的对象只保留类型</li>
+ * </ul>
+ * 容器的元素数达到上限时不再计算指纹, 该节点及其所有祖先节点的指纹均为{@link #UNKNOWN}, 留给对该节点进行对比时再计算,
+ * 并行对比时避免在单个线程中计算整棵树的指纹.
+ * <p>
+ * 非线程安全, 每次对比使用单独的指纹表; 可以在预先计算好的只读指纹表{@link #lookup(JsonNode, PathRules)}之上创建,
+ * 基础表中已经记录的节点直接使用基础表中的指纹, 基础表本身不会被修改, 因此可以被多个对比同时使用
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class FingerprintTable {
+
+    /**
+     * 未计算的指纹, 两个节点的指纹均为该值时无法判断是否存在差异
+     */
+    public static final long UNKNOWN = 0x0L;
+
+    private static final long IGNORED = 0x1L;
+
+    private static final long NULL = 0x2L;
+
+    private static final long BOOLEAN = 0x3L;
+
+    private static final long NUMBER = 0x4L;
+
+    private static final long STRING = 0x5L;
+
+    private static final long OBJECT = 0x6L;
+
+    private static final long ARRAY = 0x7L;
+
+    private static final long OTHER = 0x8L;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final long MAX_EXACT_LONG = 1_000_000_000_000_000_000L;
+
+    private static final double MAX_EXACT_DOUBLE = 0x1p53;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private static final JsonNode[] NO_NODES = new JsonNode[0];
+
+    private static final PathRules[] NO_RULES = new PathRules[0];
+
+    private static final long[] NO_FINGERPRINTS = new long[0];
+
+    /**
+     * 计算指纹的容器元素数上限
+     */
+    private final int maxContainerSize;
+
+    /**
+     * 只读的基础指纹表, 为null时表示没有基础表
+     */
+    private final FingerprintTable baseline;
+
+    private JsonNode[] nodes = NO_NODES;
+
+    private PathRules[] rules = NO_RULES;
+
+    private long[] fingerprints = NO_FINGERPRINTS;
+
+    private int size;
+
+    public FingerprintTable() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxContainerSize 对象的字段数或数组的元素数达到该值时不再计算指纹
+     */
+    public FingerprintTable(int maxContainerSize) {
+        this(maxContainerSize, null);
+    }
+
+    /**
+     * @param maxContainerSize 对象的字段数或数组的元素数达到该值时不再计算指纹, 需要与基础表计算时使用的上限一致
+     * @param baseline         只读的基础指纹表, 为null时表示没有基础表
+     */
+    public FingerprintTable(int maxContainerSize, FingerprintTable baseline) {
+        this.maxContainerSize = maxContainerSize;
+        this.baseline = baseline;
+    }
+
+    /**
+     * 根据对比配置创建指纹表, 开启并行对比时大节点的指纹由各个子任务分别计算
+     *
+     * @param config   对比配置
+     * @param baseline 只读的基础指纹表, 为null时表示没有基础表
+     * @return 指纹表
+     */
+    public static FingerprintTable create(JsonCompareConfig config, FingerprintTable baseline) {
+        JsonCompareConfig.ParallelConfig parallel = config == null ? null : config.getParallel();
+        boolean enabled = parallel != null && parallel.isEnabled();
+        return new FingerprintTable(enabled ? Math.max(2, parallel.getThreshold()) : Integer.MAX_VALUE, baseline);
+    }
+
+    /**
+     * 获取节点的指纹
+     *
+     * @param node      Json节点
+     * @param nodeRules 该节点所在路径的规则
+     * @return 64位指纹, 容器的元素数超过上限时为{@link #UNKNOWN}
+     */
+    public long of(JsonNode node, PathRules nodeRules) {
+        // 基础类型的指纹计算成本低于查表, 只记录容器节点
+        if (!node.isContainerNode()) {
+            return compute(node, nodeRules);
+        }
+        if (baseline != null) {
+            long fingerprint = baseline.lookup(node, nodeRules);
+            if (fingerprint != UNKNOWN) {
+                return fingerprint;
+            }
+        }
+        if (nodes.length == 0) {
+            resize();
+        }
+        int slot = slot(node);
+        if (nodes[slot] == node && rules[slot] == nodeRules) {
+            return fingerprints[slot];
+        }
+        long fingerprint = compute(node, nodeRules);
+        // 计算子树时可能已经扩容, 需要重新定位
+        slot = slot(node);
+        if (nodes[slot] == null) {
+            put(slot, node, nodeRules, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    /**
+     * 只读地查找已经记录的指纹, 不会计算新的指纹, 表不再被修改后可以在多个线程中同时调用
+     *
+     * @param node      Json节点
+     * @param nodeRules 该节点所在路径的规则
+     * @return 表中记录的指纹, 未记录或者规则不一致时为{@link #UNKNOWN}
+     */
+    public long lookup(JsonNode node, PathRules nodeRules) {
+        if (size == 0 || !node.isContainerNode()) {
+            return UNKNOWN;
+        }
+        int slot = slot(node);
+        return nodes[slot] == node && rules[slot] == nodeRules ? fingerprints[slot] : UNKNOWN;
+    }
+
+    /**
+     * 当前表中记录的节点数
+     */
+    public int size() {
+        return size;
+    }
+
+    private long compute(JsonNode node, PathRules nodeRules) {
+        if (nodeRules.isIgnore()) {
+            return IGNORED;
+        }
+        switch (node.getNodeType()) {
+            case NULL:
+                return NULL;
+            case BOOLEAN:
+                return mix(BOOLEAN + (node.booleanValue() ? 1 : 0));
+            case NUMBER:
+                return nodeRules.getTolerantConfig() == null ? nonUnknown(numberHash(node)) : NUMBER;
+            case STRING:
+            case BINARY:
+                return nodeRules.getEscapedJson() == null ? nonUnknown(mix(STRING ^ stringHash(node.asText()))) : STRING;
+            case OBJECT:
+                return node.size() < maxContainerSize ? objectHash(node, nodeRules) : UNKNOWN;
+            case ARRAY:
+                return node.size() < maxContainerSize ? arrayHash(node, nodeRules) : UNKNOWN;
+            default:
+                return OTHER;
+        }
+    }
+
+    private long objectHash(JsonNode node, PathRules nodeRules) {
+        long hash = OBJECT + node.size();
+        Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            long child = of(field.getValue(), nodeRules.field(field.getKey()));
+            if (child == UNKNOWN) {
+                return UNKNOWN;
+            }
+            // 字段顺序不影响对比结果
+            hash += mix(stringHash(field.getKey()) ^ Long.rotateLeft(child, 29));
+        }
+        // 配置了字段映射时实际与预期的字段名并不相同, 子节点的指纹仍然需要计算, 但不参与当前节点的指纹
+        return nodeRules.hasMappingKeys() ? OBJECT : nonUnknown(mix(hash));
+    }
+
+    private long arrayHash(JsonNode node, PathRules nodeRules) {
+        long hash = ARRAY + node.size();
+        if (nodeRules.isDisorder()) {
+            long sum = 0;
+            for (int i = 0; i < node.size(); i++) {
+                long child = of(node.get(i), nodeRules.element(i));
+                if (child == UNKNOWN) {
+                    return UNKNOWN;
+                }
+                sum += child;
+            }
+            // 乱序数组中的元素会与其他下标的元素进行对比, 配置了按下标的规则时无法保证指纹一致
+            return nonUnknown(nodeRules.hasIndexRules() ? mix(hash) : mix(hash ^ mix(sum)));
+        }
+        for (int i = 0; i < node.size(); i++) {
+            long child = of(node.get(i), nodeRules.element(i));
+            if (child == UNKNOWN) {
+                return UNKNOWN;
+            }
+            hash = mix(hash * FNV_PRIME + child);
+        }
+        return nonUnknown(hash);
+    }
+
+    /**
+     * 数值按照BigDecimal的比较语义计算指纹, 例如: 1 与 1.00 的指纹一致
+     */
+    private static long numberHash(JsonNode node) {
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            long value = node.longValue();
+            if (value > -MAX_EXACT_LONG && value < MAX_EXACT_LONG) {
+                return mix(NUMBER ^ value);
+            }
+        }
+        BigDecimal value;
+        try {
+            // 数值相等时最接近的double一定相同, 绝对值较小的非整数直接按照double计算, 整数与上面的long一致
+            double nearest = node.isDouble() ? node.doubleValue() : NumericComparator.toBigDecimal(node).doubleValue();
+            if (Math.abs(nearest) < MAX_EXACT_DOUBLE) {
+                long integral = (long) nearest;
+                return integral == nearest ? mix(NUMBER ^ integral) : mix(NUMBER ^ Double.doubleToLongBits(nearest));
+            }
+            value = NumericComparator.toBigDecimal(node).stripTrailingZeros();
+        } catch (NumberFormatException e) {
+            return mix(NUMBER ^ stringHash(node.asText()));
+        }
+        if (value.scale() <= 0 && value.precision() - value.scale() < 19) {
+            return mix(NUMBER ^ value.longValue());
+        }
+        return mix(NUMBER ^ value.hashCode() ^ ((long) value.scale() << 32));
+    }
+
+    private static long stringHash(String str) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < str.length(); i++) {
+            hash ^= str.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static long nonUnknown(long hash) {
+        return hash == UNKNOWN ? OTHER : hash;
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 按照引用进行开放寻址, 返回节点所在的槽位或第一个空槽位
+     */
+    private int slot(JsonNode node) {
+        int mask = nodes.length - 1;
+        int slot = (int) mix(System.identityHashCode(node)) & mask;
+        while (nodes[slot] != null && nodes[slot] != node) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void put(int slot, JsonNode node, PathRules nodeRules, long fingerprint) {
+        nodes[slot] = node;
+        rules[slot] = nodeRules;
+        fingerprints[slot] = fingerprint;
+        if (++size * 2 > nodes.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        JsonNode[] oldNodes = nodes;
+        PathRules[] oldRules = rules;
+        long[] oldFingerprints = fingerprints;
+        int capacity = Math.max(INITIAL_CAPACITY, oldNodes.length * 2);
+        nodes = new JsonNode[capacity];
+        rules = new PathRules[capacity];
+        fingerprints = new long[capacity];
+        for (int i = 0; i < oldNodes.length; i++) {
+            if (oldNodes[i] != null) {
+                int slot = slot(oldNodes[i]);
+                nodes[slot] = oldNodes[i];
+                rules[slot] = oldRules[i];
+                fingerprints[slot] = oldFingerprints[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.myhexin.autotest.jsoncomparison.compare.matcher;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 基于Myers差分算法对齐两个有序数组
+ * <p>
+ * 数组元素以子树指纹表示, 先去掉两端指纹相同的元素, 再对中间部分求最短编辑脚本, 时间复杂度为O((N + M) * D),
+ * D为插入与删除的元素数之和, 两个数组大部分一致时接近线性. 编辑距离超过上限时放弃对齐, 由调用方退化为按下标对比.
+ * <p>
+ * 相邻的删除与插入视为元素被修改, 按照顺序两两配对后仍然进行递归对比, 多出的部分才作为插入或删除
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class ArrayAligner {
+
+    private ArrayAligner() {
+    }
+
+    /**
+     * 对齐两个数组
+     *
+     * @param actual          实际数组中元素的指纹
+     * @param expected        预期数组中元素的指纹
+     * @param maxEditDistance 编辑距离的上限
+     * @return 按照顺序排列的对齐片段, 编辑距离超过上限时返回null
+     */
+    public static List<Segment> align(long[] actual, long[] expected, int maxEditDistance) {
+        int n = actual.length;
+        int m = expected.length;
+        int prefix = 0;
+        while (prefix < n && prefix < m && actual[prefix] == expected[prefix]) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < n - prefix && suffix < m - prefix
+                && actual[n - 1 - suffix] == expected[m - 1 - suffix]) {
+            suffix++;
+        }
+        // 编辑距离至少为两个数组的长度之差
+        if (Math.abs(n - m) > maxEditDistance) {
+            return null;
+        }
+        List<Segment> segments = new ArrayList<>();
+        append(segments, Kind.SAME, 0, 0, prefix);
+        List<int[]> snakes = middle(actual, expected, prefix, n - suffix, prefix, m - suffix, maxEditDistance);
+        if (snakes == null) {
+            return null;
+        }
+        int x = prefix;
+        int y = prefix;
+        for (int[] snake : snakes) {
+            // snake: 对角线的起点(x, y)以及长度
+            addEdits(segments, x, y, snake[0] - x, snake[1] - y);
+            append(segments, Kind.SAME, snake[0], snake[1], snake[2]);
+            x = snake[0] + snake[2];
+            y = snake[1] + snake[2];
+        }
+        addEdits(segments, x, y, n - suffix - x, m - suffix - y);
+        append(segments, Kind.SAME, n - suffix, m - suffix, suffix);
+        return segments;
+    }
+
+    /**
+     * 求中间部分的最短编辑脚本, 返回按顺序排列的对角线
+     */
+    private static List<int[]> middle(long[] actual, long[] expected, int fromX, int toX, int fromY, int toY,
+                                      int maxEditDistance) {
+        int n = toX - fromX;
+        int m = toY - fromY;
+        List<int[]> snakes = new ArrayList<>();
+        if (n == 0 || m == 0) {
+            return snakes;
+        }
+        int max = Math.min(n + m, maxEditDistance);
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+        for (int d = 0; d <= max; d++) {
+            // 只保存当前步需要的对角线范围, 总空间为O(D²)
+            int[] snapshot = new int[2 * d + 1];
+            for (int k = -d; k <= d; k += 2) {
+                int x;
+                if (k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])) {
+                    x = v[offset + k + 1];
+                } else {
+                    x = v[offset + k - 1] + 1;
+                }
+                int y = x - k;
+                while (x < n && y < m && actual[fromX + x] == expected[fromY + y]) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                snapshot[k + d] = x;
+                if (x >= n && y >= m) {
+                    trace.add(snapshot);
+                    return backtrack(trace, fromX, fromY, n, m);
+                }
+            }
+            trace.add(snapshot);
+        }
+        return null;
+    }
+
+    private static List<int[]> backtrack(List<int[]> trace, int fromX, int fromY, int n, int m) {
+        List<int[]> snakes = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = trace.size() - 1; d > 0; d--) {
+            int[] previous = trace.get(d - 1);
+            int k = x - y;
+            int prevK;
+            if (k == -d || (k != d && at(previous, d - 1, k - 1) < at(previous, d - 1, k + 1))) {
+                prevK = k + 1;
+            } else {
+                prevK = k - 1;
+            }
+            int prevX = at(previous, d - 1, prevK);
+            int prevY = prevX - prevK;
+            // 从上一步的终点经过一次插入或删除到达(startX, startY), 再沿对角线到达(x, y)
+            int startX = prevK == k + 1 ? prevX : prevX + 1;
+            int startY = startX - k;
+            if (x > startX) {
+                snakes.add(0, new int[]{fromX + startX, fromY + startY, x - startX});
+            }
+            x = prevX;
+            y = prevY;
+        }
+        // 第0步只有从起点开始的对角线
+        if (x > 0) {
+            snakes.add(0, new int[]{fromX, fromY, x});
+        }
+        return snakes;
+    }
+
+    private static int at(int[] snapshot, int d, int k) {
+        return snapshot[k + d];
+    }
+
+    /**
+     * 两个对角线之间只在实际或预期中存在的元素, 数量相同的部分视为修改
+     */
+    private static void addEdits(List<Segment> segments, int x, int y, int actualOnly, int expectedOnly) {
+        int changed = Math.min(actualOnly, expectedOnly);
+        append(segments, Kind.CHANGED, x, y, changed);
+        append(segments, Kind.INSERTED, x + changed, y + changed, actualOnly - changed);
+        append(segments, Kind.DELETED, x + changed, y + changed, expectedOnly - changed);
+    }
+
+    private static void append(List<Segment> segments, Kind kind, int actualStart, int expectedStart, int length) {
+        if (length > 0) {
+            segments.add(new Segment(kind, actualStart, expectedStart, length));
+        }
+    }
+
+    /**
+     * 对齐片段的类型
+     */
+    public enum Kind {
+        /**
+         * 指纹一致的元素
+         */
+        SAME,
+        /**
+         * 指纹不一致, 但是位于相同位置的元素
+         */
+        CHANGED,
+        /**
+         * 只在实际中存在的元素
+         */
+        INSERTED,
+        /**
+         * 只在预期中存在的元素
+         */
+        DELETED,
+    }
+
+    /**
+     * 对齐片段, 实际中[actualStart, actualStart + length)与预期中[expectedStart, expectedStart + length)对应;
+     * 插入的片段只占用实际中的元素, 删除的片段只占用预期中的元素
+     */
+    public static final class Segment {
+
+        private final Kind kind;
+
+        private final int actualStart;
+
+        private final int expectedStart;
+
+        private final int length;
+
+        Segment(Kind kind, int actualStart, int expectedStart, int length) {
+            this.kind = kind;
+            this.actualStart = actualStart;
+            this.expectedStart = expectedStart;
+            this.length = length;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public int getActualStart() {
+            return actualStart;
+        }
+
+        public int getExpectedStart() {
+            return expectedStart;
+        }
+
+        public int getLength() {
+            return length;
+        }
+    }
+}
@@ -0,0 +1,573 @@
+package com.myhexin.autotest.jsoncomparison.compare.matcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+
+import java.util.*;
+
+/**
+ * 乱序数组中按照差异数为实际元素匹配最接近的预期元素
+ * <p>
+ * 匹配的代价为两个元素对比产生的差异数, 只有代价小于元素自身字段数(或元素数)的两个容器元素才会被匹配,
+ * 完全不同的元素仍然作为未找到处理. 为了避免计算n²个代价, 每个实际元素最多只计算{@link #MAX_CANDIDATES}个代价,
+ * 并且每次代价的计算都以上限为差异上限, 超过上限即停止. 候选的预期元素按照以下顺序选取:
+ * <ol>
+ *     <li>按照字段名与字段值指纹(数组为元素指纹)建立倒排索引, 优先选取相同字段值最多的预期元素,
+ *     两者字段数的较大值减去相同的字段数即为代价的下界, 下界不小于上限的元素直接跳过. 出现次数过多的字段值没有区分度, 不参与索引</li>
+ *     <li>按照签名对预期元素进行分组, 对象的签名为字段名集合, 数组的签名为元素数, 签名之间的差异数同样是代价的下界,
+ *     优先从签名相同的分组中选取下标最接近的预期元素, 再按照下界从小到大选取其他分组</li>
+ * </ol>
+ * <p>
+ * 待匹配的元素较少时使用匈牙利算法求最小代价的完美匹配, 否则按照代价从小到大贪心匹配
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class ClosestElementMatcher {
+
+    /**
+     * 每个实际元素最多计算代价的候选预期元素数
+     */
+    public static final int MAX_CANDIDATES = 16;
+
+    /**
+     * 倒排索引中出现次数超过该值的字段值不参与索引
+     */
+    public static final int MAX_POSTING_SIZE = 64;
+
+    /**
+     * 签名不同时每个实际元素最多计算下界的分组数
+     */
+    public static final int MAX_SIGNATURE_SCAN = 64;
+
+    /**
+     * 双方待匹配的元素数均不超过该值时使用匈牙利算法
+     */
+    public static final int HUNGARIAN_MAX_SIZE = 128;
+
+    /**
+     * 匈牙利算法中不存在候选关系的两个元素的代价
+     */
+    private static final long NO_EDGE = 1L << 40;
+
+    private final ArrayNode actual;
+
+    private final ArrayNode expected;
+
+    private final PathRules rules;
+
+    private final FingerprintTable fingerprints;
+
+    private final PairCost pairCost;
+
+    /**
+     * @param actual       实际的数组
+     * @param expected     预期的数组
+     * @param rules        数组所在路径的规则
+     * @param fingerprints 当前对比的指纹表
+     * @param pairCost     两个元素之间的代价
+     */
+    public ClosestElementMatcher(ArrayNode actual, ArrayNode expected, PathRules rules, FingerprintTable fingerprints,
+                                 PairCost pairCost) {
+        this.actual = actual;
+        this.expected = expected;
+        this.rules = rules;
+        this.fingerprints = fingerprints;
+        this.pairCost = pairCost;
+    }
+
+    /**
+     * 为待匹配的实际元素匹配预期元素
+     *
+     * @param actualIndexes   待匹配的实际元素下标, 升序
+     * @param expectedIndexes 待匹配的预期元素下标, 升序
+     * @return 与actualIndexes一一对应的预期元素下标, 未匹配时为-1
+     */
+    public int[] match(int[] actualIndexes, int[] expectedIndexes) {
+        int[] pairs = new int[actualIndexes.length];
+        Arrays.fill(pairs, -1);
+        if (actualIndexes.length == 0 || expectedIndexes.length == 0) {
+            return pairs;
+        }
+        List<Edge> edges = collectEdges(actualIndexes, expectedIndexes);
+        if (edges.isEmpty()) {
+            return pairs;
+        }
+        if (actualIndexes.length <= HUNGARIAN_MAX_SIZE && expectedIndexes.length <= HUNGARIAN_MAX_SIZE) {
+            hungarian(edges, actualIndexes.length, expectedIndexes.length, pairs);
+        } else {
+            greedy(edges, expectedIndexes.length, pairs);
+        }
+        // 匹配结果中保存的是预期元素在expectedIndexes中的位置
+        for (int i = 0; i < pairs.length; i++) {
+            if (pairs[i] >= 0) {
+                pairs[i] = expectedIndexes[pairs[i]];
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * 计算每个实际元素与候选预期元素之间的代价, 只保留小于上限的代价
+     */
+    private List<Edge> collectEdges(int[] actualIndexes, int[] expectedIndexes) {
+        Map<Signature, Group> groups = new LinkedHashMap<>();
+        Map<Long, Posting> postings = new HashMap<>();
+        for (int k = 0; k < expectedIndexes.length; k++) {
+            JsonNode node = expected.get(expectedIndexes[k]);
+            if (isContainer(node)) {
+                groups.computeIfAbsent(new Signature(node), Group::new).add(k, expectedIndexes[k]);
+                for (long token : tokens(node, expectedIndexes[k])) {
+                    postings.computeIfAbsent(token, t -> new Posting()).add(k);
+                }
+            }
+        }
+        int[] shared = new int[expectedIndexes.length];
+        boolean[] evaluated = new boolean[expectedIndexes.length];
+        List<Edge> edges = new ArrayList<>();
+        for (int a = 0; a < actualIndexes.length; a++) {
+            int actualIndex = actualIndexes[a];
+            JsonNode node = actual.get(actualIndex);
+            int limit = isContainer(node) ? node.size() : 0;
+            if (limit == 0) {
+                continue;
+            }
+            Candidates candidates = new Candidates(a, actualIndex, limit, evaluated);
+            evaluateShared(edges, candidates, node, expectedIndexes, postings, shared);
+            // 待匹配的元素之间至少存在一个差异, 已经找到只有一个差异的元素时无需再按照签名选取
+            if (candidates.best <= 1) {
+                candidates.reset();
+                continue;
+            }
+            Signature signature = new Signature(node);
+            Group same = groups.get(signature);
+            if (same != null) {
+                evaluateNearest(edges, candidates, same);
+            }
+            if (candidates.quota > 0) {
+                for (Group group : nearbyGroups(groups, signature, same, limit)) {
+                    evaluateNearest(edges, candidates, group);
+                    if (candidates.quota <= 0) {
+                        break;
+                    }
+                }
+            }
+            candidates.reset();
+        }
+        return edges;
+    }
+
+    /**
+     * 容器元素的字段值(数组为元素)指纹, 指纹相同的字段值在当前规则下一致
+     */
+    private long[] tokens(JsonNode node, int index) {
+        PathRules elementRules = rules.element(index);
+        long[] tokens = new long[node.size()];
+        int size = 0;
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                long fingerprint = fingerprints.of(field.getValue(), elementRules.field(field.getKey()));
+                if (fingerprint != FingerprintTable.UNKNOWN) {
+                    tokens[size++] = fingerprint * 31 + field.getKey().hashCode();
+                }
+            }
+        } else {
+            for (int i = 0; i < node.size(); i++) {
+                long fingerprint = fingerprints.of(node.get(i), elementRules.element(i));
+                if (fingerprint != FingerprintTable.UNKNOWN) {
+                    tokens[size++] = fingerprint;
+                }
+            }
+        }
+        return size == tokens.length ? tokens : Arrays.copyOf(tokens, size);
+    }
+
+    /**
+     * 选取与实际元素相同字段值最多的预期元素计算代价
+     */
+    private void evaluateShared(List<Edge> edges, Candidates candidates, JsonNode node, int[] expectedIndexes,
+                                Map<Long, Posting> postings, int[] shared) {
+        List<Integer> touched = new ArrayList<>();
+        for (long token : tokens(node, candidates.actualIndex)) {
+            Posting posting = postings.get(token);
+            if (posting == null || posting.size > MAX_POSTING_SIZE) {
+                continue;
+            }
+            for (int i = 0; i < posting.size; i++) {
+                int k = posting.positions[i];
+                if (shared[k]++ == 0) {
+                    touched.add(k);
+                }
+            }
+        }
+        touched.sort(Comparator.comparingInt((Integer k) -> -shared[k])
+                .thenComparingInt(k -> Math.abs(candidates.actualIndex - expectedIndexes[k])));
+        for (int k : touched) {
+            JsonNode expectedNode = expected.get(expectedIndexes[k]);
+            // 不相同的字段至少各产生一个差异
+            int lowerBound = Math.max(node.size(), expectedNode.size()) - shared[k];
+            if (candidates.quota > 0 && lowerBound < candidates.limit) {
+                evaluate(edges, candidates, k, expectedIndexes[k]);
+            }
+            shared[k] = 0;
+        }
+    }
+
+    /**
+     * 签名不同并且下界小于上限的分组, 按照下界从小到大排列
+     */
+    private List<Group> nearbyGroups(Map<Signature, Group> groups, Signature signature, Group same, int limit) {
+        List<Group> nearby = new ArrayList<>();
+        int scanned = 0;
+        for (Group group : groups.values()) {
+            if (group == same || group.signature.type != signature.type) {
+                continue;
+            }
+            if (++scanned > MAX_SIGNATURE_SCAN) {
+                break;
+            }
+            group.lowerBound = signature.lowerBound(group.signature);
+            if (group.lowerBound < limit) {
+                nearby.add(group);
+            }
+        }
+        nearby.sort(Comparator.comparingInt(group -> group.lowerBound));
+        return nearby;
+    }
+
+    /**
+     * 从分组中选取下标与实际元素最接近的预期元素计算代价
+     */
+    private void evaluateNearest(List<Edge> edges, Candidates candidates, Group group) {
+        int actualIndex = candidates.actualIndex;
+        int right = group.indexOf(actualIndex);
+        int left = right - 1;
+        while (candidates.quota > 0 && (left >= 0 || right < group.size)) {
+            int pick;
+            if (left < 0) {
+                pick = right++;
+            } else if (right >= group.size) {
+                pick = left--;
+            } else {
+                pick = actualIndex - group.indexes[left] <= group.indexes[right] - actualIndex ? left-- : right++;
+            }
+            evaluate(edges, candidates, group.positions[pick], group.indexes[pick]);
+        }
+    }
+
+    private void evaluate(List<Edge> edges, Candidates candidates, int position, int expectedIndex) {
+        if (candidates.evaluated[position]) {
+            return;
+        }
+        candidates.evaluated[position] = true;
+        candidates.touched.add(position);
+        candidates.quota--;
+        int cost = pairCost.cost(candidates.actualIndex, expectedIndex, candidates.limit);
+        if (cost < candidates.limit) {
+            candidates.best = Math.min(candidates.best, cost);
+            edges.add(new Edge(candidates.actual, position, cost, Math.abs(candidates.actualIndex - expectedIndex)));
+        }
+    }
+
+    /**
+     * 按照代价从小到大贪心匹配, 代价相同时优先匹配下标接近的元素
+     */
+    private static void greedy(List<Edge> edges, int expectedSize, int[] pairs) {
+        edges.sort(Comparator.comparingInt((Edge edge) -> edge.cost)
+                .thenComparingInt(edge -> edge.distance)
+                .thenComparingInt(edge -> edge.actual)
+                .thenComparingInt(edge -> edge.expected));
+        boolean[] taken = new boolean[expectedSize];
+        for (Edge edge : edges) {
+            if (pairs[edge.actual] < 0 && !taken[edge.expected]) {
+                pairs[edge.actual] = edge.expected;
+                taken[edge.expected] = true;
+            }
+        }
+    }
+
+    /**
+     * 匈牙利算法, 不存在候选关系的元素之间的代价为{@link #NO_EDGE}, 求解后丢弃这部分匹配
+     */
+    private static void hungarian(List<Edge> edges, int actualSize, int expectedSize, int[] pairs) {
+        // 算法要求行数不超过列数, 实际元素较多时转置
+        boolean transposed = actualSize > expectedSize;
+        int rows = transposed ? expectedSize : actualSize;
+        int cols = transposed ? actualSize : expectedSize;
+        long[][] cost = new long[rows][cols];
+        for (long[] row : cost) {
+            Arrays.fill(row, NO_EDGE);
+        }
+        for (Edge edge : edges) {
+            int r = transposed ? edge.expected : edge.actual;
+            int c = transposed ? edge.actual : edge.expected;
+            cost[r][c] = Math.min(cost[r][c], (long) edge.cost * (actualSize + expectedSize + 1) + edge.distance);
+        }
+        int[] rowOfCol = solve(cost, rows, cols);
+        for (int c = 0; c < cols; c++) {
+            int r = rowOfCol[c];
+            if (r < 0 || cost[r][c] >= NO_EDGE) {
+                continue;
+            }
+            if (transposed) {
+                pairs[c] = r;
+            } else {
+                pairs[r] = c;
+            }
+        }
+    }
+
+    /**
+     * O(rows² * cols)的匈牙利算法
+     *
+     * @return 每一列匹配的行, 未匹配时为-1
+     */
+    private static int[] solve(long[][] cost, int rows, int cols) {
+        long[] u = new long[rows + 1];
+        long[] v = new long[cols + 1];
+        int[] p = new int[cols + 1];
+        int[] way = new int[cols + 1];
+        long[] minv = new long[cols + 1];
+        boolean[] used = new boolean[cols + 1];
+        for (int i = 1; i <= rows; i++) {
+            p[0] = i;
+            int j0 = 0;
+            Arrays.fill(minv, Long.MAX_VALUE);
+            Arrays.fill(used, false);
+            do {
+                used[j0] = true;
+                int i0 = p[j0];
+                long delta = Long.MAX_VALUE;
+                int j1 = 0;
+                for (int j = 1; j <= cols; j++) {
+                    if (!used[j]) {
+                        long cur = cost[i0 - 1][j - 1] - u[i0] - v[j];
+                        if (cur < minv[j]) {
+                            minv[j] = cur;
+                            way[j] = j0;
+                        }
+                        if (minv[j] < delta) {
+                            delta = minv[j];
+                            j1 = j;
+                        }
+                    }
+                }
+                for (int j = 0; j <= cols; j++) {
+                    if (used[j]) {
+                        u[p[j]] += delta;
+                        v[j] -= delta;
+                    } else {
+                        minv[j] -= delta;
+                    }
+                }
+                j0 = j1;
+            } while (p[j0] != 0);
+            do {
+                int j1 = way[j0];
+                p[j0] = p[j1];
+                j0 = j1;
+            } while (j0 != 0);
+        }
+        int[] rowOfCol = new int[cols];
+        for (int j = 1; j <= cols; j++) {
+            rowOfCol[j - 1] = p[j] - 1;
+        }
+        return rowOfCol;
+    }
+
+    private static boolean isContainer(JsonNode node) {
+        return node.isObject() || node.isArray();
+    }
+
+    /**
+     * 两个元素之间的代价
+     */
+    @FunctionalInterface
+    public interface PairCost {
+
+        /**
+         * 计算两个元素之间的代价
+         *
+         * @param actualIndex   实际元素的下标
+         * @param expectedIndex 预期元素的下标
+         * @param limit         代价的上限, 达到上限后可以停止计算
+         * @return 两个元素对比产生的差异数, 不小于上限时可以返回上限
+         */
+        int cost(int actualIndex, int expectedIndex, int limit);
+    }
+
+    /**
+     * 元素的签名, 对象为字段名集合, 数组为元素数
+     */
+    private static final class Signature {
+
+        private final JsonNodeType type;
+
+        private final Set<String> fieldNames;
+
+        private final int size;
+
+        private final int hash;
+
+        Signature(JsonNode node) {
+            type = node.getNodeType();
+            size = node.size();
+            if (node.isObject()) {
+                fieldNames = new HashSet<>(size * 2);
+                node.fieldNames().forEachRemaining(fieldNames::add);
+                hash = type.hashCode() * 31 + fieldNames.hashCode();
+            } else {
+                fieldNames = Collections.emptySet();
+                hash = type.hashCode() * 31 + size;
+            }
+        }
+
+        /**
+         * 两个签名所对应的元素之间差异数的下界, 配置了忽略或字段映射的字段可能使实际的差异数更少, 因此只作为选取候选的依据
+         */
+        int lowerBound(Signature other) {
+            if (type != JsonNodeType.OBJECT) {
+                return size == other.size ? 0 : 1;
+            }
+            int common = 0;
+            for (String fieldName : fieldNames) {
+                if (other.fieldNames.contains(fieldName)) {
+                    common++;
+                }
+            }
+            return fieldNames.size() + other.fieldNames.size() - 2 * common;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Signature)) {
+                return false;
+            }
+            Signature other = (Signature) o;
+            return type == other.type && size == other.size && hash == other.hash && fieldNames.equals(other.fieldNames);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * 签名相同的预期元素, 按照下标升序排列
+     */
+    private static final class Group {
+
+        private final Signature signature;
+
+        private int[] indexes = new int[1];
+
+        private int[] positions = new int[1];
+
+        private int size;
+
+        private int lowerBound;
+
+        Group(Signature signature) {
+            this.signature = signature;
+        }
+
+        void add(int position, int index) {
+            if (size == indexes.length) {
+                indexes = Arrays.copyOf(indexes, size * 2);
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            indexes[size] = index;
+            positions[size] = position;
+            size++;
+        }
+
+        /**
+         * 第一个不小于该下标的位置
+         */
+        int indexOf(int index) {
+            int i = Arrays.binarySearch(indexes, 0, size, index);
+            return i >= 0 ? i : -i - 1;
+        }
+    }
+
+    /**
+     * 单个实际元素已经计算过代价的候选预期元素
+     */
+    private static final class Candidates {
+
+        private final int actual;
+
+        private final int actualIndex;
+
+        private final int limit;
+
+        private final boolean[] evaluated;
+
+        private final List<Integer> touched = new ArrayList<>();
+
+        private int quota = MAX_CANDIDATES;
+
+        private int best = Integer.MAX_VALUE;
+
+        Candidates(int actual, int actualIndex, int limit, boolean[] evaluated) {
+            this.actual = actual;
+            this.actualIndex = actualIndex;
+            this.limit = limit;
+            this.evaluated = evaluated;
+        }
+
+        void reset() {
+            for (int position : touched) {
+                evaluated[position] = false;
+            }
+        }
+    }
+
+    /**
+     * 拥有某个字段值的预期元素
+     */
+    private static final class Posting {
+
+        private int[] positions = new int[1];
+
+        private int size;
+
+        void add(int position) {
+            // 超出上限后不再使用, 无需继续记录
+            if (size > MAX_POSTING_SIZE) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+    }
+
+    private static final class Edge {
+
+        private final int actual;
+
+        private final int expected;
+
+        private final int cost;
+
+        private final int distance;
+
+        Edge(int actual, int expected, int cost, int distance) {
+            this.actual = actual;
+            this.expected = expected;
+            this.cost = cost;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.myhexin.autotest.jsoncomparison.compare.matcher;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.config.UniqueKey;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 乱序数组中预期元素的索引
+ * <p>
+ * 对预期数组只遍历一次, 按照唯一键{@link UniqueKey}的值以及子树指纹{@link FingerprintTable}分别建立哈希索引,
+ * 实际数组中的每个元素都可以在O(1)的时间内找到候选的预期元素, 只需要在候选元素中进行完整的递归对比即可
+ * <p>
+ * 指纹索引默认延迟构建, 非线程安全; 调用{@link #prepare()}提前构建完成后不会再被修改, 可以被多个对比同时使用
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class ExpectedElementIndex {
+
+    private static final int[] NO_CANDIDATES = new int[0];
+
+    private final ArrayNode expected;
+
+    private final PathRules rules;
+
+    /**
+     * 用于计算预期元素指纹的指纹表
+     */
+    private final FingerprintTable fingerprints;
+
+    /**
+     * 预期数组中每个元素的唯一键的值, 未配置唯一键时为null
+     */
+    private final JsonNode[] uniqueKeyValues;
+
+    /**
+     * 唯一键的值 -> 预期数组中第一个拥有该值的下标
+     */
+    private final Map<JsonNode, Integer> uniqueKeyIndex;
+
+    /**
+     * 子树指纹 -> 预期数组中拥有该指纹的下标(升序)
+     * 为null时说明数组配置了按下标的规则, 无法使用指纹
+     */
+    private final Map<Long, Bucket> hashIndex;
+
+    private boolean hashIndexBuilt;
+
+    private int[] allIndexes;
+
+    /**
+     * @param expected     预期的数组
+     * @param rules        数组所在路径的规则
+     * @param fingerprints 计算预期元素指纹的指纹表
+     */
+    public ExpectedElementIndex(ArrayNode expected, PathRules rules, FingerprintTable fingerprints) {
+        this.expected = expected;
+        this.rules = rules;
+        this.fingerprints = fingerprints;
+        UniqueKey uniqueKey = rules.getCompiledUniqueKey();
+        int size = expected.size();
+        if (uniqueKey != null) {
+            uniqueKeyValues = new JsonNode[size];
+            uniqueKeyIndex = new HashMap<>(size * 2);
+            for (int i = 0; i < size; i++) {
+                JsonNode value = uniqueKey.valueOf(expected.get(i));
+                uniqueKeyValues[i] = value;
+                if (value != null) {
+                    uniqueKeyIndex.putIfAbsent(value, i);
+                }
+            }
+        } else {
+            uniqueKeyValues = null;
+            uniqueKeyIndex = null;
+        }
+        hashIndex = rules.hasIndexRules() ? null : new HashMap<>();
+    }
+
+    /**
+     * 提前构建所有的索引, 完成后索引是只读的
+     *
+     * @return 当前索引
+     */
+    public ExpectedElementIndex prepare() {
+        if (hashIndex == null) {
+            allIndexes();
+        } else if (!hashIndexBuilt) {
+            buildHashIndex();
+            hashIndex.values().forEach(Bucket::toArray);
+            hashIndexBuilt = true;
+        }
+        return this;
+    }
+
+    /**
+     * 当前索引是否为指定数组与规则建立的
+     *
+     * @param array      预期的数组
+     * @param arrayRules 数组所在路径的规则
+     * @return 数组与规则均为同一个对象时返回true
+     */
+    public boolean isIndexOf(ArrayNode array, PathRules arrayRules) {
+        return expected == array && rules == arrayRules;
+    }
+
+    /**
+     * 根据唯一键的值查找预期中的元素
+     *
+     * @param valueOfUniqueKey 实际元素中唯一键的值
+     * @return 预期数组中第一个拥有相同唯一键值的下标, 不存在时返回-1
+     */
+    public int findByUniqueKey(JsonNode valueOfUniqueKey) {
+        if (uniqueKeyIndex == null || valueOfUniqueKey == null) {
+            return -1;
+        }
+        Integer index = uniqueKeyIndex.get(valueOfUniqueKey);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * 获取预期元素的唯一键的值
+     *
+     * @param expectedIndex 预期元素的下标
+     * @return 未配置唯一键或者元素中不存在唯一键时返回null
+     */
+    public JsonNode uniqueKeyOf(int expectedIndex) {
+        return uniqueKeyValues == null ? null : uniqueKeyValues[expectedIndex];
+    }
+
+    /**
+     * 获取可能与实际元素相等的预期元素, 不在候选中的预期元素一定与实际元素存在差异
+     *
+     * @param actualElement      实际数组中的元素
+     * @param actualIndex        实际元素的下标
+     * @param actualFingerprints 当前对比的指纹表, 用于计算实际元素的指纹
+     * @return 候选预期元素的下标, 升序
+     */
+    public int[] candidates(JsonNode actualElement, int actualIndex, FingerprintTable actualFingerprints) {
+        if (hashIndex == null) {
+            return allIndexes();
+        }
+        if (!hashIndexBuilt) {
+            buildHashIndex();
+            hashIndexBuilt = true;
+        }
+        Bucket bucket = hashIndex.get(actualFingerprints.of(actualElement, rules.element(actualIndex)));
+        return bucket == null ? NO_CANDIDATES : bucket.toArray();
+    }
+
+    /**
+     * 指纹索引仅在存在无唯一键的元素时才需要, 延迟构建
+     */
+    private void buildHashIndex() {
+        for (int i = 0; i < expected.size(); i++) {
+            long fingerprint = fingerprints.of(expected.get(i), rules.element(i));
+            hashIndex.computeIfAbsent(fingerprint, h -> new Bucket()).add(i);
+        }
+    }
+
+    private int[] allIndexes() {
+        if (allIndexes == null) {
+            allIndexes = new int[expected.size()];
+            for (int i = 0; i < allIndexes.length; i++) {
+                allIndexes[i] = i;
+            }
+        }
+        return allIndexes;
+    }
+
+    private static final class Bucket {
+
+        private int[] indexes = new int[1];
+
+        private int size;
+
+        void add(int index) {
+            if (size == indexes.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(indexes, 0, grown, 0, size);
+                indexes = grown;
+            }
+            indexes[size++] = index;
+        }
+
+        int[] toArray() {
+            if (size != indexes.length) {
+                int[] trimmed = new int[size];
+                System.arraycopy(indexes, 0, trimmed, 0, size);
+                indexes = trimmed;
+            }
+            return indexes;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.myhexin.autotest.jsoncomparison.compare.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * 全局的指标监听器
+ * <p>
+ * 类加载时通过{@link ServiceLoader}查找第一个{@link CompareMetricsListener}的实现, 不存在时为{@link CompareMetricsListener#NOOP}.
+ * 每次对比开始时读取一次当前的监听器, 修改只对之后开始的对比生效
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Slf4j
+public final class CompareMetrics {
+
+    private static volatile CompareMetricsListener listener = load();
+
+    private CompareMetrics() {
+    }
+
+    public static CompareMetricsListener getListener() {
+        return listener;
+    }
+
+    /**
+     * 替换全局的指标监听器
+     *
+     * @param listener 监听器, 为null时使用{@link CompareMetricsListener#NOOP}
+     */
+    public static void setListener(CompareMetricsListener listener) {
+        CompareMetrics.listener = Objects.isNull(listener) ? CompareMetricsListener.NOOP : listener;
+    }
+
+    private static CompareMetricsListener load() {
+        try {
+            Iterator<CompareMetricsListener> iterator = ServiceLoader.load(CompareMetricsListener.class).iterator();
+            if (iterator.hasNext()) {
+                CompareMetricsListener loaded = iterator.next();
+                log.info("使用指标监听器: {}", loaded.getClass().getName());
+                return loaded;
+            }
+        } catch (ServiceConfigurationError e) {
+            log.warn("加载指标监听器失败, 不再收集对比指标", e);
+        }
+        return CompareMetricsListener.NOOP;
+    }
+}
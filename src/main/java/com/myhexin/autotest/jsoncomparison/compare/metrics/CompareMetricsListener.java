@@ -0,0 +1,63 @@
+package com.myhexin.autotest.jsoncomparison.compare.metrics;
+
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+
+/**
+ * 对比过程中的指标监听器
+ * <p>
+ * 对比引擎在热点路径上回调该接口, 默认为{@link #NOOP}, 不会产生任何开销(包括计时). 通过{@link CompareMetrics#setListener}
+ * 或者SPI(META-INF/services)注册实现, 参见{@link HistogramMetricsListener}.
+ * <p>
+ * 并行对比时会在多个线程中同时回调, 实现需要保证线程安全, 并且不能有耗时操作
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public interface CompareMetricsListener {
+
+    /**
+     * 不做任何事情的监听器
+     */
+    CompareMetricsListener NOOP = new CompareMetricsListener() {
+    };
+
+    /**
+     * 访问了一个节点, 包括无需对比而直接跳过的节点
+     *
+     * @param nodeType 实际节点的类型, 决定了所使用的对比器
+     */
+    default void onNodeVisited(JsonNodeType nodeType) {
+    }
+
+    /**
+     * 对比器完成了一个节点的对比
+     *
+     * @param nodeType 实际节点的类型, 决定了所使用的对比器
+     * @param nanos    对比耗时, 包含子节点的耗时
+     */
+    default void onNodeCompared(JsonNodeType nodeType, long nanos) {
+    }
+
+    /**
+     * 获取了一个节点的对比规则
+     *
+     * @param hit 该节点是否配置了规则
+     */
+    default void onRuleLookup(boolean hit) {
+    }
+
+    /**
+     * 对乱序数组中的一组实际元素与预期元素进行了对比
+     */
+    default void onDisorderPairEvaluated() {
+    }
+
+    /**
+     * 产生了一个差异, 乱序数组查找匹配元素时的试探对比所产生的差异不会回调
+     *
+     * @param diffType 差异类型, 未知的类型为null
+     */
+    default void onDiff(DiffEnum diffType) {
+    }
+}
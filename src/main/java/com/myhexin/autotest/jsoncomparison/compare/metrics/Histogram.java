@@ -0,0 +1,122 @@
+package com.myhexin.autotest.jsoncomparison.compare.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按照2的幂划分桶的无锁直方图, 用于记录耗时等非负数值
+ * <p>
+ * 第i个桶记录[2^(i-1), 2^i)范围内的数值, 分位数返回所在桶的上界, 误差不超过一倍
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class Histogram {
+
+    private static final int BUCKET_NUM = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_NUM);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    /**
+     * 记录一个数值, 负数按照0记录
+     *
+     * @param value 数值
+     */
+    public void record(long value) {
+        long finalValue = Math.max(0, value);
+        buckets.incrementAndGet(BUCKET_NUM - Long.numberOfLeadingZeros(finalValue));
+        count.increment();
+        sum.add(finalValue);
+        max.accumulate(finalValue);
+    }
+
+    /**
+     * 清空所有记录
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_NUM; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * 获取当前的统计信息, 记录与获取并发进行时结果可能存在少量误差
+     *
+     * @return 统计信息的快照
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_NUM];
+        long total = 0;
+        for (int i = 0; i < BUCKET_NUM; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        Snapshot snapshot = new Snapshot();
+        snapshot.setCount(count.sum());
+        snapshot.setSum(sum.sum());
+        snapshot.setMax(max.get());
+        snapshot.setP50(percentile(counts, total, 0.5));
+        snapshot.setP99(percentile(counts, total, 0.99));
+        return snapshot;
+    }
+
+    private static long percentile(long[] counts, long total, double percentile) {
+        long rank = (long) Math.ceil(total * percentile);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_NUM; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return i == BUCKET_NUM - 1 ? Long.MAX_VALUE : (1L << i) - 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * 直方图的统计信息
+     */
+    @Data
+    public static class Snapshot implements Serializable {
+
+        /**
+         * 记录的数值个数
+         */
+        private long count;
+
+        /**
+         * 数值之和
+         */
+        private long sum;
+
+        /**
+         * 最大值
+         */
+        private long max;
+
+        /**
+         * p50所在桶的上界
+         */
+        @JsonProperty("p50")
+        private long p50;
+
+        /**
+         * p99所在桶的上界
+         */
+        @JsonProperty("p99")
+        private long p99;
+    }
+}
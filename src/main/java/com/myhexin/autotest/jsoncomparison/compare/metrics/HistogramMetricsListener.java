@@ -0,0 +1,172 @@
+package com.myhexin.autotest.jsoncomparison.compare.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 将对比指标聚合到计数器与直方图中的监听器, 通过{@link #snapshot()}定期获取后上报到监控系统即可
+ * <p>
+ * 所有计数器在创建时就已经初始化, 回调时不会分配对象, 线程安全
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class HistogramMetricsListener implements CompareMetricsListener {
+
+    private final Map<JsonNodeType, LongAdder> nodeVisits = new EnumMap<>(JsonNodeType.class);
+
+    private final Map<JsonNodeType, Histogram> compareNanos = new EnumMap<>(JsonNodeType.class);
+
+    private final Map<DiffEnum, LongAdder> diffs = new EnumMap<>(DiffEnum.class);
+
+    private final LongAdder ruleLookups = new LongAdder();
+
+    private final LongAdder ruleHits = new LongAdder();
+
+    private final LongAdder disorderPairs = new LongAdder();
+
+    private final LongAdder unknownDiffs = new LongAdder();
+
+    public HistogramMetricsListener() {
+        for (JsonNodeType nodeType : JsonNodeType.values()) {
+            nodeVisits.put(nodeType, new LongAdder());
+            compareNanos.put(nodeType, new Histogram());
+        }
+        for (DiffEnum diffEnum : DiffEnum.values()) {
+            diffs.put(diffEnum, new LongAdder());
+        }
+    }
+
+    @Override
+    public void onNodeVisited(JsonNodeType nodeType) {
+        nodeVisits.get(nodeType).increment();
+    }
+
+    @Override
+    public void onNodeCompared(JsonNodeType nodeType, long nanos) {
+        compareNanos.get(nodeType).record(nanos);
+    }
+
+    @Override
+    public void onRuleLookup(boolean hit) {
+        ruleLookups.increment();
+        if (hit) {
+            ruleHits.increment();
+        }
+    }
+
+    @Override
+    public void onDisorderPairEvaluated() {
+        disorderPairs.increment();
+    }
+
+    @Override
+    public void onDiff(DiffEnum diffType) {
+        if (diffType == null) {
+            unknownDiffs.increment();
+        } else {
+            diffs.get(diffType).increment();
+        }
+    }
+
+    /**
+     * 获取当前的统计信息, 只包含非0的项
+     *
+     * @return 统计信息的快照
+     */
+    public MetricsSnapshot snapshot() {
+        MetricsSnapshot snapshot = new MetricsSnapshot();
+        nodeVisits.forEach((nodeType, adder) -> {
+            long sum = adder.sum();
+            if (sum > 0) {
+                snapshot.getNodeVisits().put(nodeType, sum);
+            }
+        });
+        compareNanos.forEach((nodeType, histogram) -> {
+            Histogram.Snapshot histogramSnapshot = histogram.snapshot();
+            if (histogramSnapshot.getCount() > 0) {
+                snapshot.getCompareNanos().put(nodeType, histogramSnapshot);
+            }
+        });
+        diffs.forEach((diffEnum, adder) -> {
+            long sum = adder.sum();
+            if (sum > 0) {
+                snapshot.getDiffNums().put(diffEnum, sum);
+            }
+        });
+        snapshot.setRuleLookupNum(ruleLookups.sum());
+        snapshot.setRuleHitNum(ruleHits.sum());
+        snapshot.setDisorderPairNum(disorderPairs.sum());
+        snapshot.setUnknownDiffNum(unknownDiffs.sum());
+        return snapshot;
+    }
+
+    /**
+     * 清空所有统计信息
+     */
+    public void reset() {
+        nodeVisits.values().forEach(LongAdder::reset);
+        compareNanos.values().forEach(Histogram::reset);
+        diffs.values().forEach(LongAdder::reset);
+        ruleLookups.reset();
+        ruleHits.reset();
+        disorderPairs.reset();
+        unknownDiffs.reset();
+    }
+
+    /**
+     * 对比指标的统计信息
+     */
+    @Data
+    public static class MetricsSnapshot implements Serializable {
+
+        /**
+         * 各类型节点的访问数
+         */
+        @JsonProperty("node_visits")
+        private Map<JsonNodeType, Long> nodeVisits = new EnumMap<>(JsonNodeType.class);
+
+        /**
+         * 各类型节点的对比耗时, 单位: 纳秒
+         */
+        @JsonProperty("compare_nanos")
+        private Map<JsonNodeType, Histogram.Snapshot> compareNanos = new EnumMap<>(JsonNodeType.class);
+
+        /**
+         * 各类型的差异数
+         */
+        @JsonProperty("diff_nums")
+        private Map<DiffEnum, Long> diffNums = new EnumMap<>(DiffEnum.class);
+
+        /**
+         * 获取规则的次数
+         */
+        @JsonProperty("rule_lookup_num")
+        private long ruleLookupNum;
+
+        /**
+         * 获取到已配置规则的次数
+         */
+        @JsonProperty("rule_hit_num")
+        private long ruleHitNum;
+
+        /**
+         * 乱序数组中实际元素与预期元素的对比次数
+         */
+        @JsonProperty("disorder_pair_num")
+        private long disorderPairNum;
+
+        /**
+         * 未知类型的差异数
+         */
+        @JsonProperty("unknown_diff_num")
+        private long unknownDiffNum;
+    }
+}
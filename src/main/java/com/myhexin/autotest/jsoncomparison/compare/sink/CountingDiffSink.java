@@ -0,0 +1,23 @@
+package com.myhexin.autotest.jsoncomparison.compare.sink;
+
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+
+/**
+ * 只记录差异数的接收者, 适用于只关心两个Json之间差异数的场景
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class CountingDiffSink implements DiffSink {
+
+    private int diffNum;
+
+    @Override
+    public void accept(BriefDiffResult.BriefDiff diff) {
+        diffNum++;
+    }
+
+    public int getDiffNum() {
+        return diffNum;
+    }
+}
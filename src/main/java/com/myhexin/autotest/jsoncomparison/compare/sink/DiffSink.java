@@ -0,0 +1,36 @@
+package com.myhexin.autotest.jsoncomparison.compare.sink;
+
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+
+/**
+ * 差异的接收者
+ * <p>
+ * 一次对比中的所有节点共享同一个接收者, 差异产生时立即交给接收者, 不再在每一层之间复制差异列表. 常用的实现:
+ * <ul>
+ *     <li>{@link ListDiffSink}: 收集到列表中</li>
+ *     <li>{@link CountingDiffSink}: 只记录差异数</li>
+ *     <li>{@link NdjsonDiffSink}: 每个差异写出为一行Json</li>
+ *     <li>lambda: 回调, 例如直接写出到文件或者网络</li>
+ * </ul>
+ * 差异按照对比的顺序交给接收者, 与{@link BriefDiffResult#getBriefDiffs()}中的顺序一致; 并行对比时仍然在发起对比的线程中按照顺序交付,
+ * 因此实现无需考虑线程安全
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@FunctionalInterface
+public interface DiffSink {
+
+    /**
+     * 丢弃所有差异的接收者
+     */
+    DiffSink DISCARD = diff -> {
+    };
+
+    /**
+     * 接收一个差异
+     *
+     * @param diff 差异
+     */
+    void accept(BriefDiffResult.BriefDiff diff);
+}
@@ -0,0 +1,26 @@
+package com.myhexin.autotest.jsoncomparison.compare.sink;
+
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 将差异收集到列表中的接收者
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class ListDiffSink implements DiffSink {
+
+    private final List<BriefDiffResult.BriefDiff> diffs = new ArrayList<>();
+
+    @Override
+    public void accept(BriefDiffResult.BriefDiff diff) {
+        diffs.add(diff);
+    }
+
+    public List<BriefDiffResult.BriefDiff> getDiffs() {
+        return diffs;
+    }
+}
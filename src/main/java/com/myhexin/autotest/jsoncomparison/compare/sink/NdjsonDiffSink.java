@@ -0,0 +1,80 @@
+package com.myhexin.autotest.jsoncomparison.compare.sink;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * 将每个差异写出为一行Json的接收者(NDJSON), 差异产生时立即写出, 不在内存中保留, 内存占用与差异数无关
+ * <p>
+ * 所有差异共用同一个{@link JsonGenerator}, 生成器的缓冲区写满时才会写入输出流, 需要立即写出时调用{@link #flush()};
+ * 关闭时同时关闭输出流. 写出失败时抛出{@link UncheckedIOException}
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class NdjsonDiffSink implements DiffSink, Flushable, Closeable {
+
+    private static final ObjectWriter WRITER = JsonUtils.writerFor(BriefDiffResult.BriefDiff.class);
+
+    private static final char LINE_SEPARATOR = '\n';
+
+    private final JsonGenerator generator;
+
+    private int diffNum;
+
+    /**
+     * @param out 输出流
+     * @throws IOException 创建生成器失败
+     */
+    public NdjsonDiffSink(OutputStream out) throws IOException {
+        this.generator = JsonUtils.createGenerator(out);
+    }
+
+    /**
+     * @param channel 输出通道
+     * @throws IOException 创建生成器失败
+     */
+    public NdjsonDiffSink(WritableByteChannel channel) throws IOException {
+        this(Channels.newOutputStream(channel));
+    }
+
+    @Override
+    public void accept(BriefDiffResult.BriefDiff diff) {
+        try {
+            WRITER.writeValue(generator, diff);
+            generator.writeRaw(LINE_SEPARATOR);
+        } catch (IOException e) {
+            throw new UncheckedIOException("写出差异失败！", e);
+        }
+        diffNum++;
+    }
+
+    /**
+     * 已经写出的差异数
+     *
+     * @return 差异数
+     */
+    public int getDiffNum() {
+        return diffNum;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        generator.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
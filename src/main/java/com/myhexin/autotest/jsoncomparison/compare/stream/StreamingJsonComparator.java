@@ -0,0 +1,386 @@
+package com.myhexin.autotest.jsoncomparison.compare.stream;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.DiffBudget;
+import com.myhexin.autotest.jsoncomparison.compare.constant.CompareMessageConstant;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import com.myhexin.autotest.jsoncomparison.compare.factory.JsonComparator;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.CompiledCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 流式的Json对比器
+ * <p>
+ * 不会将整个Json读取为{@link JsonNode}, 而是同时遍历实际与预期两个Json的token流:
+ * <ul>
+ *     <li>字段顺序一致的对象、有序数组逐个token进行对比, 不需要缓存</li>
+ *     <li>基础类型、乱序数组、按照对齐方式对比的数组、配置了字段映射的对象以及类型不一致的节点, 只将该节点读取为{@link JsonNode}后交由{@link JsonComparatorFactory}对比</li>
+ *     <li>对象中字段顺序不一致时, 预期中提前读取到的字段会被缓存, 直到在实际中遇到同名字段或者对象结束</li>
+ * </ul>
+ * 因此内存占用取决于Json的深度以及需要缓存的最大子树, 而不是Json的大小.
+ * <p>
+ * 差异在产生时立即输出, 与{@link JsonComparatorFactory}的结果相比, 差异的内容一致, 但数组长度不一致的差异在数组结束时才输出;
+ * 另外由于不会保留Json, 结果中不包含子差异Json.
+ * 配置了最大差异数时, 差异数达到上限后立即停止读取
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Slf4j
+public class StreamingJsonComparator {
+
+    private static final JsonComparatorFactory COMPARATOR_FACTORY = JsonComparatorFactory.build();
+
+    private static final String PATH_TEMP = "%s[%d]";
+
+    private static final String EMPTY_STRING = "";
+
+    private final JsonCompareConfig config;
+
+    private final CompiledCompareConfig compiledConfig;
+
+    public StreamingJsonComparator(JsonCompareConfig config) {
+        this.config = config;
+        this.compiledConfig = CompiledCompareConfig.compile(config);
+    }
+
+    /**
+     * 对比两个Json输入流, 并收集所有的差异
+     *
+     * @param actual   实际的Json
+     * @param expected 预期的Json
+     * @return 对比结果, 不包含子差异Json
+     * @throws IOException 读取或解析Json失败
+     */
+    public BriefDiffResult compare(InputStream actual, InputStream expected) throws IOException {
+        try (JsonParser actualParser = JsonUtils.createParser(actual);
+             JsonParser expectedParser = JsonUtils.createParser(expected)) {
+            return collect(actualParser, expectedParser);
+        }
+    }
+
+    /**
+     * 对比两个Json文件, 文件通过内存映射读取, 不会将文件内容复制到堆中
+     *
+     * @param actual   实际的Json文件
+     * @param expected 预期的Json文件
+     * @return 对比结果, 不包含子差异Json
+     * @throws IOException 读取或解析Json失败
+     */
+    public BriefDiffResult compare(Path actual, Path expected) throws IOException {
+        try (JsonParser actualParser = JsonUtils.createParser(actual);
+             JsonParser expectedParser = JsonUtils.createParser(expected)) {
+            return collect(actualParser, expectedParser);
+        }
+    }
+
+    /**
+     * 对比两个缓冲区中的Json, 读取时不会修改缓冲区的position
+     *
+     * @param actual   实际的Json
+     * @param expected 预期的Json
+     * @return 对比结果, 不包含子差异Json
+     * @throws IOException 解析Json失败
+     */
+    public BriefDiffResult compare(ByteBuffer actual, ByteBuffer expected) throws IOException {
+        try (JsonParser actualParser = JsonUtils.createParser(actual);
+             JsonParser expectedParser = JsonUtils.createParser(expected)) {
+            return collect(actualParser, expectedParser);
+        }
+    }
+
+    /**
+     * 对比两个Json解析器中的下一个值, 差异产生时立即交给消费者
+     *
+     * @param actual   实际Json的解析器
+     * @param expected 预期Json的解析器
+     * @param consumer 差异的消费者
+     * @return 差异数
+     * @throws IOException 读取或解析Json失败
+     */
+    public int compare(JsonParser actual, JsonParser expected, Consumer<BriefDiffResult.BriefDiff> consumer)
+            throws IOException {
+        if (actual.nextToken() == null) {
+            throw new IllegalArgumentException("实际的Json中没有可以对比的内容！");
+        }
+        if (expected.nextToken() == null) {
+            throw new IllegalArgumentException("预期的Json中没有可以对比的内容！");
+        }
+        log.info("开始进行两个Json之间的流式对比");
+        long begin = System.nanoTime();
+        DiffCounter counter = new DiffCounter(consumer, DiffBudget.of(config.getMaxDiffNum()));
+        try {
+            compareValue(actual, expected, JsonComparator.ROOT_PATH, compiledConfig.getRoot(), counter);
+        } catch (BudgetExhaustedException e) {
+            log.debug("差异数已达到上限[{}], 停止流式对比", config.getMaxDiffNum());
+        }
+        log.info("当前流式对比操作完成, 当前两个Json之间的的差异数为: [{}], 当前Json对比耗时: [{}]ms",
+                counter.count, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin));
+        return counter.count;
+    }
+
+    private BriefDiffResult collect(JsonParser actual, JsonParser expected) throws IOException {
+        BriefDiffResult result = new BriefDiffResult();
+        compare(actual, expected, result.getBriefDiffs()::add);
+        result.setDiffNum(result.getBriefDiffs().size());
+        return result;
+    }
+
+    /**
+     * 对比两个解析器当前位置的值, 对比完成后解析器位于值的最后一个token
+     */
+    private void compareValue(JsonParser actual, JsonParser expected, String path, PathRules rules,
+                              DiffCounter counter) throws IOException {
+        if (rules.isIgnore()) {
+            actual.skipChildren();
+            expected.skipChildren();
+            return;
+        }
+        JsonToken actualToken = actual.getCurrentToken();
+        JsonToken expectedToken = expected.getCurrentToken();
+        if (actualToken == JsonToken.START_OBJECT && expectedToken == JsonToken.START_OBJECT
+                && !rules.hasMappingKeys()) {
+            compareObject(actual, expected, path, rules, counter);
+        } else if (actualToken == JsonToken.START_ARRAY && expectedToken == JsonToken.START_ARRAY
+                && !rules.isDisorder() && !rules.isAligned()) {
+            compareArray(actual, expected, path, rules, counter);
+        } else {
+            compareTree(readTree(actual), readTree(expected), path, rules, counter);
+        }
+    }
+
+    /**
+     * 对比字段顺序可能不一致的两个对象, 差异的顺序与{@link JsonComparatorFactory}一致:
+     * 先按照实际中字段的顺序输出, 再按照预期中字段的顺序输出只在预期中存在的字段
+     */
+    private void compareObject(JsonParser actual, JsonParser expected, String path, PathRules rules,
+                               DiffCounter counter) throws IOException {
+        // 预期中提前读取但是还未匹配的字段, 保持预期中的顺序
+        Map<String, JsonNode> pending = new LinkedHashMap<>();
+        boolean expectedEnd = false;
+        while (actual.nextToken() == JsonToken.FIELD_NAME) {
+            String fieldName = actual.getCurrentName();
+            actual.nextToken();
+            String childPath = path + JsonComparator.SPLIT_POINT + fieldName;
+            PathRules childRules = rules.field(fieldName);
+            JsonNode pendingExpected = pending.remove(fieldName);
+            if (pendingExpected != null) {
+                comparePending(actual, pendingExpected, childPath, childRules, counter);
+                continue;
+            }
+            // 向后读取预期中的字段, 直到找到同名的字段
+            boolean found = false;
+            while (!expectedEnd) {
+                if (expected.nextToken() != JsonToken.FIELD_NAME) {
+                    expectedEnd = true;
+                    break;
+                }
+                String expectedFieldName = expected.getCurrentName();
+                expected.nextToken();
+                if (expectedFieldName.equals(fieldName)) {
+                    found = true;
+                    break;
+                }
+                pending.put(expectedFieldName, readTree(expected));
+            }
+            if (found) {
+                compareValue(actual, expected, childPath, childRules, counter);
+            } else {
+                counter.accept(buildExpectedMissKeyDiff(childPath, fieldName, readText(actual)));
+            }
+        }
+        for (Map.Entry<String, JsonNode> entry : pending.entrySet()) {
+            counter.accept(buildActualMissKeyDiff(path, entry.getKey(), entry.getValue()));
+        }
+        if (!expectedEnd) {
+            while (expected.nextToken() == JsonToken.FIELD_NAME) {
+                String expectedFieldName = expected.getCurrentName();
+                expected.nextToken();
+                counter.accept(buildActualMissKeyDiff(path, expectedFieldName, readTree(expected)));
+            }
+        }
+    }
+
+    /**
+     * 按照下标逐个对比两个有序数组中的元素
+     */
+    private void compareArray(JsonParser actual, JsonParser expected, String path, PathRules rules,
+                              DiffCounter counter) throws IOException {
+        int index = 0;
+        JsonToken actualToken = actual.nextToken();
+        JsonToken expectedToken = expected.nextToken();
+        while (actualToken != JsonToken.END_ARRAY && expectedToken != JsonToken.END_ARRAY) {
+            compareValue(actual, expected, String.format(PATH_TEMP, path, index), rules.element(index), counter);
+            index++;
+            actualToken = actual.nextToken();
+            expectedToken = expected.nextToken();
+        }
+        int actualSize = index + skipRemaining(actual, actualToken);
+        int expectedSize = index + skipRemaining(expected, expectedToken);
+        if (actualSize != expectedSize) {
+            counter.accept(buildLengthNotEqualDiff(path, actualSize, expectedSize));
+        }
+    }
+
+    /**
+     * 与预期中已经缓存的字段进行对比
+     */
+    private void comparePending(JsonParser actual, JsonNode expected, String path, PathRules rules,
+                                DiffCounter counter) throws IOException {
+        if (rules.isIgnore()) {
+            actual.skipChildren();
+            return;
+        }
+        compareTree(readTree(actual), expected, path, rules, counter);
+    }
+
+    private void compareTree(JsonNode actual, JsonNode expected, String path, PathRules rules,
+                             DiffCounter counter) {
+        // 绝大多数的基础类型都是一致的, 无需构建对比参数
+        if (!actual.isContainerNode() && actual.equals(expected)) {
+            return;
+        }
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .currentPath(path)
+                .rules(rules)
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .budget(counter.budget)
+                .build();
+        // 差异已经消耗过差异数, 只需要转发
+        COMPARATOR_FACTORY.executeContrast(actual.getNodeType(), params, counter::forward);
+        counter.checkBudget();
+    }
+
+    /**
+     * 跳过数组中剩余的元素
+     *
+     * @param parser 解析器
+     * @param token  当前的token
+     * @return 跳过的元素数
+     */
+    private static int skipRemaining(JsonParser parser, JsonToken token) throws IOException {
+        int skipped = 0;
+        while (token != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+            skipped++;
+            token = parser.nextToken();
+        }
+        return skipped;
+    }
+
+    /**
+     * 读取当前值的文本, 与{@link JsonNode#asText()}一致, 容器类型为空字符串
+     */
+    private static String readText(JsonParser parser) throws IOException {
+        if (parser.getCurrentToken().isStructStart()) {
+            parser.skipChildren();
+            return EMPTY_STRING;
+        }
+        return readTree(parser).asText();
+    }
+
+    private static JsonNode readTree(JsonParser parser) throws IOException {
+        return parser.readValueAsTree();
+    }
+
+    private BriefDiffResult.BriefDiff buildExpectedMissKeyDiff(String currentPath, String fieldName, String actualText) {
+        return BriefDiffResult.BriefDiff.builder()
+                .diffKey(currentPath)
+                .type(DiffEnum.EXPECTED_MISS_KEY.getType())
+                .msg(DiffEnum.EXPECTED_MISS_KEY.getMsg())
+                .lazyReason(() -> String.format(CompareMessageConstant.EXPECTED_MISS_KEY, fieldName))
+                .actual(actualText)
+                .lazyExpected(() -> String.format("预期中不存在该key: [%s]", fieldName))
+                .build();
+    }
+
+    private BriefDiffResult.BriefDiff buildActualMissKeyDiff(String currentPath, String fieldName, JsonNode expected) {
+        return BriefDiffResult.BriefDiff.builder()
+                .diffKey(currentPath + JsonComparator.SPLIT_POINT + fieldName)
+                .type(DiffEnum.ACTUAL_MISS_KEY.getType())
+                .msg(DiffEnum.ACTUAL_MISS_KEY.getMsg())
+                .lazyReason(() -> String.format(CompareMessageConstant.ACTUAL_MISS_KEY, fieldName))
+                .lazyActual(() -> String.format("实际中不存在该key: [%s]", fieldName))
+                .lazyExpected(expected::toString)
+                .build();
+    }
+
+    private BriefDiffResult.BriefDiff buildLengthNotEqualDiff(String currentPath, int actualSize, int expectedSize) {
+        return BriefDiffResult.BriefDiff.builder()
+                .lazyActual(() -> "实际的列表长度为: " + actualSize)
+                .lazyExpected(() -> "预期的列表长度为: " + expectedSize)
+                .diffKey(currentPath)
+                .type(DiffEnum.LIST_LENGTH_NOT_EQUALS.getType())
+                .msg(DiffEnum.LIST_LENGTH_NOT_EQUALS.getMsg())
+                .lazyReason(() -> String.format(CompareMessageConstant.LIST_LENGTH_NOT_EQUALS, actualSize, expectedSize))
+                .build();
+    }
+
+    /**
+     * 统计差异数的消费者, 差异数达到上限后抛出{@link BudgetExhaustedException}结束对比
+     */
+    private static final class DiffCounter implements Consumer<BriefDiffResult.BriefDiff> {
+
+        private final Consumer<BriefDiffResult.BriefDiff> delegate;
+
+        private final DiffBudget budget;
+
+        private int count;
+
+        private DiffCounter(Consumer<BriefDiffResult.BriefDiff> delegate, DiffBudget budget) {
+            this.delegate = delegate;
+            this.budget = budget;
+        }
+
+        @Override
+        public void accept(BriefDiffResult.BriefDiff diff) {
+            if (budget != null && !budget.tryConsume()) {
+                throw BudgetExhaustedException.INSTANCE;
+            }
+            forward(diff);
+            checkBudget();
+        }
+
+        void forward(BriefDiffResult.BriefDiff diff) {
+            count++;
+            delegate.accept(diff);
+        }
+
+        void checkBudget() {
+            if (budget != null && budget.isExhausted()) {
+                throw BudgetExhaustedException.INSTANCE;
+            }
+        }
+    }
+
+    /**
+     * 差异数达到上限时用于跳出递归, 不记录堆栈
+     */
+    private static final class BudgetExhaustedException extends RuntimeException {
+
+        private static final BudgetExhaustedException INSTANCE = new BudgetExhaustedException();
+
+        private BudgetExhaustedException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.myhexin.autotest.jsoncomparison.config;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import com.myhexin.autotest.jsoncomparison.compare.factory.JsonComparator;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serializable;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * 编译后的Json对比配置
+ * <p>
+ * 将{@link JsonCompareConfig}中的各类规则按路径分段编译为一棵前缀树, 数组下标作为单独的分段,
+ * [*]作为通配分段. 对比时对比器只需要根据当前字段名或下标从父节点下钻一次即可拿到当前节点的所有规则
+ * <p>
+ * 与{@link JsonCompareConfig}的语义保持一致: 精确路径(例如: list[1].name)上配置的规则优先于
+ * 通配路径(例如: list[*].name)上配置的规则
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@Slf4j
+public final class CompiledCompareConfig implements Serializable {
+
+    private static final CompiledCompareConfig EMPTY = new CompiledCompareConfig(null, PathRules.EMPTY);
+
+    private final JsonCompareConfig config;
+
+    private final PathRules root;
+
+    private CompiledCompareConfig(JsonCompareConfig config, PathRules root) {
+        this.config = config;
+        this.root = root;
+    }
+
+    /**
+     * 编译对比配置
+     *
+     * @param config 对比配置, 允许为null
+     * @return 编译后的配置
+     */
+    public static CompiledCompareConfig compile(JsonCompareConfig config) {
+        if (Objects.isNull(config)) {
+            return EMPTY;
+        }
+        return new Compiler().compile(config);
+    }
+
+    public JsonCompareConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * 获取根路径$所对应的规则
+     */
+    public PathRules getRoot() {
+        return root;
+    }
+
+    /**
+     * 根据完整的路径获取规则, 例如: $.data.list[1].name
+     *
+     * @param path 路径
+     * @return 当前路径所对应的规则
+     */
+    public PathRules resolve(String path) {
+        if (CharSequenceUtil.isBlank(path) || JsonComparator.ROOT_PATH.equals(path)) {
+            return root;
+        }
+        List<Segment> segments = parse(path);
+        if (segments == null) {
+            return PathRules.EMPTY;
+        }
+        PathRules rules = root;
+        for (Segment segment : segments) {
+            rules = segment.isField() ? rules.field(segment.name) : rules.element(segment.index);
+        }
+        return rules;
+    }
+
+    /**
+     * 将路径解析为分段, 不包含根路径$
+     *
+     * @param path 路径
+     * @return 如果不是以$开头的路径则返回null
+     */
+    private static List<Segment> parse(String path) {
+        List<String> parts = CharSequenceUtil.split(path, JsonComparator.SPLIT_POINT);
+        List<Segment> segments = new ArrayList<>();
+        for (int i = 0; i < parts.size(); i++) {
+            String part = parts.get(i);
+            int bracket = part.indexOf('[');
+            String name = bracket < 0 ? part : part.substring(0, bracket);
+            List<Segment> indexes = bracket < 0 ? Collections.emptyList() : parseIndexes(part.substring(bracket));
+            if (indexes == null) {
+                // 并不是合法的下标, 整体作为字段名
+                name = part;
+                indexes = Collections.emptyList();
+            }
+            if (i == 0) {
+                if (!JsonComparator.ROOT_PATH.equals(name)) {
+                    return null;
+                }
+            } else {
+                segments.add(Segment.field(name));
+            }
+            segments.addAll(indexes);
+        }
+        return segments;
+    }
+
+    private static List<Segment> parseIndexes(String brackets) {
+        List<Segment> segments = new ArrayList<>();
+        int pos = 0;
+        while (pos < brackets.length()) {
+            int end = brackets.indexOf(']', pos);
+            if (brackets.charAt(pos) != '[' || end < 0) {
+                return null;
+            }
+            String index = brackets.substring(pos + 1, end);
+            if (JsonComparator.ARRAY_REPLACEMENT.equals(brackets.substring(pos, end + 1))) {
+                segments.add(Segment.WILDCARD);
+            } else if (!index.isEmpty() && CharSequenceUtil.isNumeric(index)) {
+                segments.add(Segment.index(Integer.parseInt(index)));
+            } else {
+                return null;
+            }
+            pos = end + 1;
+        }
+        return segments;
+    }
+
+    /**
+     * 路径中的一个分段
+     */
+    private static final class Segment {
+
+        static final Segment WILDCARD = new Segment(null, -1);
+
+        final String name;
+
+        final int index;
+
+        private Segment(String name, int index) {
+            this.name = name;
+            this.index = index;
+        }
+
+        static Segment field(String name) {
+            return new Segment(name, -1);
+        }
+
+        static Segment index(int index) {
+            return new Segment(null, index);
+        }
+
+        boolean isField() {
+            return name != null;
+        }
+    }
+
+    /**
+     * 前缀树节点, 仅在编译期间使用
+     */
+    private static final class Node {
+
+        final Map<String, Node> fields = new LinkedHashMap<>();
+
+        final TreeMap<Integer, Node> indexes = new TreeMap<>();
+
+        Node wildcard;
+
+        boolean ignore;
+
+        JsonCompareConfig.ArrayWithDisorderConfig disorder;
+
+        boolean aligned;
+
+        JsonCompareConfig.EscapedJson escapedJson;
+
+        JsonCompareConfig.TolerantConfig tolerant;
+
+        JsonCompareConfig.FieldMapping fieldMapping;
+
+        Node child(Segment segment) {
+            if (segment.isField()) {
+                return fields.computeIfAbsent(segment.name, k -> new Node());
+            }
+            if (segment == Segment.WILDCARD) {
+                if (wildcard == null) {
+                    wildcard = new Node();
+                }
+                return wildcard;
+            }
+            return indexes.computeIfAbsent(segment.index, k -> new Node());
+        }
+    }
+
+    private static final class Compiler {
+
+        private final Node root = new Node();
+
+        private final Map<JsonCompareConfig.EscapedJson, CompiledCompareConfig> escapedConfigs =
+                new IdentityHashMap<>();
+
+        private final Map<JsonCompareConfig.TolerantConfig, Tolerance> tolerances = new IdentityHashMap<>();
+
+        private final Map<JsonCompareConfig.ArrayWithDisorderConfig, UniqueKey> uniqueKeys = new IdentityHashMap<>();
+
+        CompiledCompareConfig compile(JsonCompareConfig config) {
+            for (String path : nullToEmpty(config.getIgnorePath())) {
+                Optional.ofNullable(locate(path)).ifPresent(node -> node.ignore = true);
+            }
+            for (JsonCompareConfig.ArrayWithDisorderConfig disorder : nullToEmpty(config.getArrayWithDisorderPath())) {
+                Node node = locate(disorder.getPath());
+                if (node != null && node.disorder == null) {
+                    node.disorder = disorder;
+                }
+            }
+            for (String path : nullToEmpty(config.getArrayWithAlignmentPath())) {
+                Optional.ofNullable(locate(path)).ifPresent(node -> node.aligned = true);
+            }
+            for (JsonCompareConfig.EscapedJson escapedJson : nullToEmpty(config.getEscapedJsonPath())) {
+                Node node = locate(escapedJson.getPath());
+                if (node != null && node.escapedJson == null) {
+                    node.escapedJson = escapedJson;
+                }
+            }
+            for (JsonCompareConfig.TolerantConfig tolerant : nullToEmpty(config.getTolerantPath())) {
+                Node node = locate(tolerant.getPath());
+                if (node != null && node.tolerant == null) {
+                    node.tolerant = tolerant;
+                }
+            }
+            for (JsonCompareConfig.FieldMapping mapping : nullToEmpty(config.getFieldMappings())) {
+                Node node = locate(mapping.getPath());
+                if (node != null && node.fieldMapping == null) {
+                    node.fieldMapping = mapping;
+                }
+            }
+            return new CompiledCompareConfig(config, build(root, root));
+        }
+
+        /**
+         * 定位规则路径在前缀树中的节点, 不存在时创建
+         */
+        private Node locate(String path) {
+            if (CharSequenceUtil.isBlank(path)) {
+                return null;
+            }
+            List<Segment> segments = parse(path);
+            if (segments == null) {
+                log.debug("规则路径[{}]不是以{}开头, 该规则永远不会生效", path, JsonComparator.ROOT_PATH);
+                return null;
+            }
+            Node node = root;
+            for (Segment segment : segments) {
+                node = node.child(segment);
+            }
+            return node;
+        }
+
+        /**
+         * 同时沿着精确路径与通配路径下钻, 将两者合并为一个确定的规则节点
+         *
+         * @param exact 按实际下标匹配到的节点
+         * @param wild  将所有下标视为[*]匹配到的节点
+         * @return
+         */
+        private PathRules build(Node exact, Node wild) {
+            if (exact == null && wild == null) {
+                return PathRules.EMPTY;
+            }
+            PathRules rules = new PathRules();
+            rules.ignore = (exact != null && exact.ignore) || (wild != null && wild.ignore);
+            rules.disorder = pick(exact, wild, node -> node.disorder);
+            rules.aligned = (exact != null && exact.aligned) || (wild != null && wild.aligned);
+            if (rules.disorder != null) {
+                rules.uniqueKey = uniqueKeys.computeIfAbsent(rules.disorder, disorder -> UniqueKey.parse(disorder.getUniqueKey()));
+            }
+            rules.escapedJson = pick(exact, wild, node -> node.escapedJson);
+            rules.tolerant = pick(exact, wild, node -> node.tolerant);
+            rules.fieldMapping = pick(exact, wild, node -> node.fieldMapping);
+            if (rules.tolerant != null) {
+                rules.tolerance = tolerances.computeIfAbsent(rules.tolerant, Compiler::parseTolerance);
+            }
+            if (rules.escapedJson != null) {
+                rules.escapedConfig = escapedConfigs.computeIfAbsent(
+                        rules.escapedJson, e -> new Compiler().compile(e)
+                );
+            }
+
+            Set<String> fieldNames = new LinkedHashSet<>();
+            Set<String> mappingKeys = new HashSet<>();
+            collectFields(exact, fieldNames, mappingKeys);
+            collectFields(wild, fieldNames, mappingKeys);
+            if (!fieldNames.isEmpty()) {
+                rules.fields = new HashMap<>(fieldNames.size() * 2);
+                for (String fieldName : fieldNames) {
+                    PathRules child = build(
+                            exact == null ? null : exact.fields.get(fieldName),
+                            wild == null ? null : wild.fields.get(fieldName)
+                    );
+                    if (!child.isEmpty()) {
+                        rules.fields.put(fieldName, child);
+                    }
+                }
+            }
+            if (!mappingKeys.isEmpty()) {
+                rules.mappingKeys = mappingKeys;
+            }
+
+            Node wildElement = wild == null ? null : wild.wildcard;
+            if (exact != null && !exact.indexes.isEmpty()) {
+                rules.indexes = new int[exact.indexes.size()];
+                rules.indexChildren = new PathRules[exact.indexes.size()];
+                int i = 0;
+                for (Map.Entry<Integer, Node> entry : exact.indexes.entrySet()) {
+                    rules.indexes[i] = entry.getKey();
+                    rules.indexChildren[i] = build(entry.getValue(), wildElement);
+                    i++;
+                }
+            }
+            rules.element = build(null, wildElement);
+
+            boolean noRules = !rules.ignore && rules.disorder == null && !rules.aligned && rules.escapedJson == null
+                    && rules.tolerant == null && rules.fieldMapping == null && rules.mappingKeys.isEmpty();
+            if (noRules && rules.fields.isEmpty() && rules.indexes.length == 0 && rules.element.isEmpty()) {
+                return PathRules.EMPTY;
+            }
+            return rules;
+        }
+
+        /**
+         * 精确路径上的规则优先于通配路径上的规则
+         */
+        private static <R> R pick(Node exact, Node wild, Function<Node, R> getter) {
+            R value = exact == null ? null : getter.apply(exact);
+            return value != null || wild == null ? value : getter.apply(wild);
+        }
+
+        /**
+         * 不合法的容差在编译时不报错, 与之前一样留到对比该路径时再抛出异常
+         */
+        private static Tolerance parseTolerance(JsonCompareConfig.TolerantConfig tolerant) {
+            if (tolerant.getTolerant() == null) {
+                return null;
+            }
+            try {
+                return Tolerance.parse(tolerant.getTolerant());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private static void collectFields(Node node, Set<String> fieldNames, Set<String> mappingKeys) {
+            if (node == null) {
+                return;
+            }
+            for (Map.Entry<String, Node> entry : node.fields.entrySet()) {
+                fieldNames.add(entry.getKey());
+                JsonCompareConfig.FieldMapping mapping = entry.getValue().fieldMapping;
+                if (mapping != null && mapping.getMappingKey() != null) {
+                    mappingKeys.add(mapping.getMappingKey());
+                }
+            }
+        }
+
+        private static <E> Collection<E> nullToEmpty(Collection<E> collection) {
+            return collection == null ? Collections.emptyList() : collection;
+        }
+    }
+}
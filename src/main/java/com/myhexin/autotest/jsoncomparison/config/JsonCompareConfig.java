@@ -3,6 +3,8 @@ package com.myhexin.autotest.jsoncomparison.config;
 
 import cn.hutool.core.text.CharSequenceUtil;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DetailLevelEnum;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DisorderMatchModeEnum;
 import com.myhexin.autotest.jsoncomparison.compare.factory.JsonComparator;
 import lombok.Data;
 
@@ -31,6 +33,12 @@ public class JsonCompareConfig implements Serializable {
     @JsonProperty("array_with_disorder_path")
     private Set<ArrayWithDisorderConfig> arrayWithDisorderPath;
 
+    /**
+     * 需要按照元素对齐后再对比的有序数组路径集合, 插入以及删除的元素只会产生一个差异
+     */
+    @JsonProperty("array_with_alignment_path")
+    private Set<String> arrayWithAlignmentPath;
+
     /**
      * 需要进行Json转义进行对比的路径集合
      */
@@ -49,14 +57,43 @@ public class JsonCompareConfig implements Serializable {
     @JsonProperty("tolerant_path")
     private Set<TolerantConfig> tolerantPath;
 
+    /**
+     * 并行对比配置, 为null时使用单线程进行对比
+     */
+    private ParallelConfig parallel;
+
+    /**
+     * 最多收集的差异数, 达到后停止对比并且不再构建子差异Json; 为0时只判断是否一致, 为null时不限制
+     */
+    @JsonProperty("max_diff_num")
+    private Integer maxDiffNum;
+
+    /**
+     * 对比结果的详细程度, 为null时为{@link DetailLevelEnum#FULL}
+     */
+    @JsonProperty("detail_level")
+    private DetailLevelEnum detailLevel;
+
     public JsonCompareConfig() {
         ignorePath = new HashSet<>();
         arrayWithDisorderPath = new HashSet<>();
+        arrayWithAlignmentPath = new HashSet<>();
         escapedJsonPath = new HashSet<>();
         fieldMappings = new HashSet<>();
         tolerantPath = new HashSet<>();
     }
 
+    /**
+     * 将当前配置编译为按路径索引的规则, 编译后的规则可以在多次对比之间复用
+     * <p>
+     * 编译结果不会感知编译之后对当前配置的修改
+     *
+     * @return 编译后的配置
+     */
+    public CompiledCompareConfig compile() {
+        return CompiledCompareConfig.compile(this);
+    }
+
     /**
      * 是否是需要忽略的path
      *
@@ -185,7 +222,7 @@ public class JsonCompareConfig implements Serializable {
     @Data
     public static class ArrayWithDisorderConfig implements Serializable {
         /**
-         * 当前忽略数组顺序的唯一键
+         * 当前忽略数组顺序的唯一键, 支持嵌套字段(meta.id)以及以逗号分隔的复合唯一键(accountId,symbol,side), 参见{@link UniqueKey}
          */
         @JsonProperty("unique_key")
         private String uniqueKey;
@@ -195,6 +232,11 @@ public class JsonCompareConfig implements Serializable {
          */
         private String path;
 
+        /**
+         * 没有唯一键的元素的匹配方式, 为null时为{@link DisorderMatchModeEnum#EXACT}
+         */
+        @JsonProperty("match_mode")
+        private DisorderMatchModeEnum matchMode;
 
         @Override
         public boolean equals(Object o) {
@@ -214,6 +256,20 @@ public class JsonCompareConfig implements Serializable {
         }
     }
 
+    @Data
+    public static class ParallelConfig implements Serializable {
+
+        /**
+         * 是否开启并行对比
+         */
+        private boolean enabled;
+
+        /**
+         * 对象的字段数或数组的元素数达到该阈值时才会拆分为并行任务
+         */
+        private int threshold = 256;
+    }
+
     @Data
     public static class TolerantConfig implements Serializable {
 
@@ -223,7 +279,7 @@ public class JsonCompareConfig implements Serializable {
         private String path;
 
         /**
-         * 容差
+         * 容差, 通过后缀区分模式, 例如: 0.001为绝对容差, 1%为相对容差, 4ulp为ULP距离
          */
         private String tolerant;
 
@@ -0,0 +1,184 @@
+package com.myhexin.autotest.jsoncomparison.config;
+
+import java.io.Serializable;
+import java.util.*;
+
+/**
+ * 某一个路径下已经解析完成的对比规则
+ * <p>
+ * 由{@link CompiledCompareConfig}编译生成, 对比器在递归时通过{@link #field(String)}与{@link #element(int)}
+ * 逐层下钻即可拿到子节点的规则, 无需再拼接路径字符串进行正则替换或遍历规则集合
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class PathRules implements Serializable {
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    private static final PathRules[] NO_CHILDREN = new PathRules[0];
+
+    /**
+     * 没有配置任何规则的节点, 其所有子节点同样没有规则
+     */
+    public static final PathRules EMPTY = new PathRules();
+
+    /**
+     * 字段名 -> 子节点规则
+     */
+    Map<String, PathRules> fields = Collections.emptyMap();
+
+    /**
+     * 精确配置了下标的数组元素(例如: list[1]), 升序排列
+     */
+    int[] indexes = NO_INDEXES;
+
+    PathRules[] indexChildren = NO_CHILDREN;
+
+    /**
+     * 其余下标的数组元素, 即通配符[*]
+     */
+    PathRules element = this;
+
+    boolean ignore;
+
+    JsonCompareConfig.ArrayWithDisorderConfig disorder;
+
+    /**
+     * 解析完成的唯一键, 未配置唯一键时为null
+     */
+    UniqueKey uniqueKey;
+
+    boolean aligned;
+
+    JsonCompareConfig.EscapedJson escapedJson;
+
+    CompiledCompareConfig escapedConfig;
+
+    JsonCompareConfig.TolerantConfig tolerant;
+
+    /**
+     * 解析完成的容差, 容差不是合法的数值时为null
+     */
+    Tolerance tolerance;
+
+    JsonCompareConfig.FieldMapping fieldMapping;
+
+    /**
+     * 当前对象下被配置为映射目标的预期字段名
+     */
+    Set<String> mappingKeys = Collections.emptySet();
+
+    PathRules() {
+    }
+
+    /**
+     * 获取对象字段的规则
+     *
+     * @param fieldName 字段名
+     * @return 子节点的规则, 不存在时返回{@link #EMPTY}
+     */
+    public PathRules field(String fieldName) {
+        PathRules rules = fields.get(fieldName);
+        return rules == null ? EMPTY : rules;
+    }
+
+    /**
+     * 获取数组元素的规则
+     *
+     * @param index 数组下标
+     * @return 子节点的规则, 不存在时返回{@link #EMPTY}
+     */
+    public PathRules element(int index) {
+        if (indexes.length > 0) {
+            int i = Arrays.binarySearch(indexes, index);
+            if (i >= 0) {
+                return indexChildren[i];
+            }
+        }
+        return element;
+    }
+
+    /**
+     * 当前节点是否配置了按下标的精确规则, 例如: list[1].name
+     */
+    public boolean hasIndexRules() {
+        return indexes.length > 0;
+    }
+
+    public boolean isEmpty() {
+        return this == EMPTY;
+    }
+
+    public boolean isIgnore() {
+        return ignore;
+    }
+
+    public boolean isDisorder() {
+        return disorder != null;
+    }
+
+    /**
+     * 有序数组是否需要按照元素对齐后再对比
+     */
+    public boolean isAligned() {
+        return aligned;
+    }
+
+    public String getUniqueKey() {
+        return disorder == null ? null : disorder.getUniqueKey();
+    }
+
+    /**
+     * 解析完成的唯一键, 支持嵌套以及复合的唯一键
+     *
+     * @return 未配置唯一键时返回null
+     */
+    public UniqueKey getCompiledUniqueKey() {
+        return uniqueKey;
+    }
+
+    public JsonCompareConfig.ArrayWithDisorderConfig getDisorderConfig() {
+        return disorder;
+    }
+
+    public JsonCompareConfig.EscapedJson getEscapedJson() {
+        return escapedJson;
+    }
+
+    /**
+     * 转义Json所配置的子规则
+     */
+    public CompiledCompareConfig getEscapedConfig() {
+        return escapedConfig;
+    }
+
+    public JsonCompareConfig.TolerantConfig getTolerantConfig() {
+        return tolerant;
+    }
+
+    public Tolerance getTolerance() {
+        return tolerance;
+    }
+
+    public JsonCompareConfig.FieldMapping getFieldMapping() {
+        return fieldMapping;
+    }
+
+    /**
+     * 预期中的字段是否是当前对象下某个字段映射的目标字段
+     *
+     * @param expectedFieldName 预期中的字段名
+     * @return
+     */
+    public boolean isMappingKey(String expectedFieldName) {
+        return mappingKeys.contains(expectedFieldName);
+    }
+
+    /**
+     * 当前对象下是否配置了字段映射
+     */
+    public boolean hasMappingKeys() {
+        return !mappingKeys.isEmpty();
+    }
+}
@@ -0,0 +1,121 @@
+package com.myhexin.autotest.jsoncomparison.config;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import com.myhexin.autotest.jsoncomparison.compare.enums.TolerantModeEnum;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * 解析完成的容差, 由{@link JsonCompareConfig.TolerantConfig#getTolerant()}在编译配置时解析一次,
+ * 同时保留整数与浮点数形式供数值对比的快速路径使用
+ * <p>
+ * 容差的模式由后缀决定, 参见{@link TolerantModeEnum}:
+ * <ul>
+ *     <li>0.001: 绝对容差</li>
+ *     <li>1%: 相对容差</li>
+ *     <li>4ulp: ULP距离</li>
+ * </ul>
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class Tolerance implements Serializable {
+
+    private static final BigDecimal PERCENT = BigDecimal.valueOf(100);
+
+    private final TolerantModeEnum mode;
+
+    /**
+     * 去掉后缀之后的数值
+     */
+    private final BigDecimal value;
+
+    private final boolean exactLong;
+
+    private final long longValue;
+
+    private final double doubleValue;
+
+    private Tolerance(TolerantModeEnum mode, BigDecimal value) {
+        this.mode = mode;
+        this.value = value;
+        long exact = 0;
+        boolean isLong = false;
+        try {
+            exact = value.longValueExact();
+            isLong = true;
+        } catch (ArithmeticException e) {
+            // 存在小数部分或超出long的范围, 只能使用BigDecimal进行对比
+        }
+        this.exactLong = isLong;
+        this.longValue = exact;
+        this.doubleValue = mode == TolerantModeEnum.RELATIVE
+                ? value.divide(PERCENT).doubleValue() : value.doubleValue();
+    }
+
+    /**
+     * 解析容差
+     *
+     * @param tolerant 容差, 例如: 0.001、1%、4ulp
+     * @return 容差
+     * @throws NumberFormatException 容差不是合法的数值, 或者ULP距离不是整数
+     */
+    public static Tolerance parse(String tolerant) {
+        String text = tolerant.trim();
+        for (TolerantModeEnum mode : TolerantModeEnum.values()) {
+            if (mode != TolerantModeEnum.ABSOLUTE && CharSequenceUtil.endWithIgnoreCase(text, mode.getSuffix())) {
+                BigDecimal value = new BigDecimal(CharSequenceUtil.removeSuffixIgnoreCase(text, mode.getSuffix()).trim());
+                if (mode == TolerantModeEnum.ULP && value.stripTrailingZeros().scale() > 0) {
+                    throw new NumberFormatException("ULP距离必须是整数: " + tolerant);
+                }
+                return new Tolerance(mode, value);
+            }
+        }
+        return new Tolerance(TolerantModeEnum.ABSOLUTE, new BigDecimal(text));
+    }
+
+    public TolerantModeEnum getMode() {
+        return mode;
+    }
+
+    /**
+     * 去掉后缀之后的数值, 例如: 1%为1, 4ulp为4
+     */
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    /**
+     * 数值是否可以无损的表示为long
+     */
+    public boolean isExactLong() {
+        return exactLong;
+    }
+
+    public long getLongValue() {
+        return longValue;
+    }
+
+    /**
+     * 最接近数值的double, 可能存在舍入误差; 相对容差为比例, 例如: 1%为0.01
+     */
+    public double getDoubleValue() {
+        return doubleValue;
+    }
+
+    /**
+     * ULP距离, 超出long范围时为最大或最小的long
+     */
+    public long getUlps() {
+        if (exactLong) {
+            return longValue;
+        }
+        return value.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    @Override
+    public String toString() {
+        return value.toString() + mode.getSuffix();
+    }
+}
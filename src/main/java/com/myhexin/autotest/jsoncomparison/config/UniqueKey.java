@@ -0,0 +1,121 @@
+package com.myhexin.autotest.jsoncomparison.config;
+
+import cn.hutool.core.text.CharSequenceUtil;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 解析完成的乱序数组唯一键, 由{@link JsonCompareConfig.ArrayWithDisorderConfig#getUniqueKey()}在编译配置时解析一次
+ * <p>
+ * 支持以下几种形式:
+ * <ul>
+ *     <li>id: 元素的字段</li>
+ *     <li>meta.id: 元素中嵌套对象的字段, 元素中存在名称完全相同的字段时优先使用该字段</li>
+ *     <li>accountId,symbol,side: 多个字段组成的复合唯一键, 每个字段同样可以是嵌套的路径</li>
+ * </ul>
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class UniqueKey implements Serializable {
+
+    /**
+     * 复合唯一键中各个字段的分隔符
+     */
+    public static final String KEY_SEPARATOR = ",";
+
+    /**
+     * 嵌套路径中各级字段的分隔符
+     */
+    public static final String PATH_SEPARATOR = ".";
+
+    private final String text;
+
+    private final String[] keys;
+
+    /**
+     * 每个字段按照{@link #PATH_SEPARATOR}拆分后的路径, 不是嵌套路径时为null
+     */
+    private final String[][] paths;
+
+    private UniqueKey(String text, String[] keys) {
+        this.text = text;
+        this.keys = keys;
+        this.paths = new String[keys.length][];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i].contains(PATH_SEPARATOR)) {
+                List<String> path = CharSequenceUtil.split(keys[i], PATH_SEPARATOR, true, true);
+                paths[i] = path.toArray(new String[0]);
+            }
+        }
+    }
+
+    /**
+     * 解析唯一键
+     *
+     * @param uniqueKey 唯一键, 例如: id、meta.id、accountId,symbol,side
+     * @return 唯一键, 为空时返回null
+     */
+    public static UniqueKey parse(String uniqueKey) {
+        if (CharSequenceUtil.isBlank(uniqueKey)) {
+            return null;
+        }
+        List<String> keys = CharSequenceUtil.split(uniqueKey, KEY_SEPARATOR, true, true);
+        if (keys.isEmpty()) {
+            return null;
+        }
+        return new UniqueKey(uniqueKey, keys.toArray(new String[0]));
+    }
+
+    /**
+     * 获取元素的唯一键的值, 值相等的两个元素视为同一个元素
+     *
+     * @param element 数组中的元素
+     * @return 单个字段时为该字段的值, 复合唯一键时为各个字段的值组成的数组; 任意一个字段不存在时返回null
+     */
+    public JsonNode valueOf(JsonNode element) {
+        if (keys.length == 1) {
+            return fieldValue(element, 0);
+        }
+        ArrayNode values = JsonNodeFactory.instance.arrayNode(keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            JsonNode value = fieldValue(element, i);
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
+    private JsonNode fieldValue(JsonNode element, int i) {
+        JsonNode value = element.get(keys[i]);
+        if (value != null || paths[i] == null) {
+            return value;
+        }
+        JsonNode node = element;
+        for (String fieldName : paths[i]) {
+            node = node.get(fieldName);
+            if (node == null) {
+                return null;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * 是否由多个字段组成
+     */
+    public boolean isComposite() {
+        return keys.length > 1;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+}
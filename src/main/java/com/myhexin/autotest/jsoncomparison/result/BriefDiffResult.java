@@ -1,14 +1,20 @@
 package com.myhexin.autotest.jsoncomparison.result;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.JsonNodeFactory;
 import lombok.Builder;
 import lombok.Data;
+import lombok.ToString;
 
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 
 /**
  * @author baoyh
@@ -22,26 +28,52 @@ public class BriefDiffResult implements Serializable {
      * 当前的对比所产生的差异信息
      */
     @JsonProperty("brief_diffs")
-    private List<BriefDiff> briefDiffs = new ArrayList<>();
+    private List<BriefDiff> briefDiffs;
 
     /**
      * 差异数
      */
     @JsonProperty("diff_num")
-    private Integer diffNum = 0;
+    private Integer diffNum;
 
+    /**
+     * 实际Json中存在差异的部分, 首次获取时才会创建
+     */
     @JsonProperty("child_actual_json")
-    private JsonNode childActualJson = JsonNodeFactory.instance.objectNode();
+    private JsonNode childActualJson;
 
+    /**
+     * 预期Json中存在差异的部分, 首次获取时才会创建
+     */
     @JsonProperty("child_expected_json")
-    private JsonNode childExpectedJson = JsonNodeFactory.instance.objectNode();
+    private JsonNode childExpectedJson;
 
     public BriefDiffResult() {
         briefDiffs = new ArrayList<>();
         diffNum = 0;
     }
 
+    public JsonNode getChildActualJson() {
+        if (childActualJson == null) {
+            childActualJson = JsonNodeFactory.instance.objectNode();
+        }
+        return childActualJson;
+    }
+
+    public JsonNode getChildExpectedJson() {
+        if (childExpectedJson == null) {
+            childExpectedJson = JsonNodeFactory.instance.objectNode();
+        }
+        return childExpectedJson;
+    }
+
 
+    /**
+     * 差异信息
+     * <p>
+     * 预期值、实际值、差异原因以及差异描述可以通过lazy开头的字段延迟生成, 首次获取或者序列化时才会生成字符串并缓存,
+     * 只关心差异数或者差异类型时无需格式化差异原因, 也无需序列化整棵子树. 延迟生成时会持有对应节点的引用
+     */
     @Data
     @Builder
     public static class BriefDiff implements Serializable {
@@ -82,5 +114,105 @@ public class BriefDiffResult implements Serializable {
          */
         @JsonProperty("sub_diffs")
         private List<BriefDiff> subDiffs;
+
+        @JsonIgnore
+        @ToString.Exclude
+        private transient Supplier<String> lazyMsg;
+
+        @JsonIgnore
+        @ToString.Exclude
+        private transient Supplier<String> lazyExpected;
+
+        @JsonIgnore
+        @ToString.Exclude
+        private transient Supplier<String> lazyActual;
+
+        @JsonIgnore
+        @ToString.Exclude
+        private transient Supplier<String> lazyReason;
+
+        public String getMsg() {
+            if (msg == null && lazyMsg != null) {
+                msg = lazyMsg.get();
+                lazyMsg = null;
+            }
+            return msg;
+        }
+
+        public String getExpected() {
+            if (expected == null && lazyExpected != null) {
+                expected = lazyExpected.get();
+                lazyExpected = null;
+            }
+            return expected;
+        }
+
+        public String getActual() {
+            if (actual == null && lazyActual != null) {
+                actual = lazyActual.get();
+                lazyActual = null;
+            }
+            return actual;
+        }
+
+        public String getReason() {
+            if (reason == null && lazyReason != null) {
+                reason = lazyReason.get();
+                lazyReason = null;
+            }
+            return reason;
+        }
+
+        public void setReason(String reason) {
+            this.reason = reason;
+            this.lazyReason = null;
+        }
+
+        /**
+         * 延迟字段不会被Java序列化, 序列化前先生成所有字段
+         */
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            getMsg();
+            getExpected();
+            getActual();
+            getReason();
+            out.defaultWriteObject();
+        }
+
+        /**
+         * 生成所有延迟字段后复制当前差异, 子差异同样会被复制, 副本与当前差异之间不共享任何可变状态
+         *
+         * @return 副本
+         */
+        public BriefDiff copy() {
+            List<BriefDiff> copiedSubDiffs = null;
+            if (subDiffs != null) {
+                copiedSubDiffs = new ArrayList<>(subDiffs.size());
+                for (BriefDiff subDiff : subDiffs) {
+                    copiedSubDiffs.add(subDiff.copy());
+                }
+            }
+            return BriefDiff.builder()
+                    .type(type)
+                    .msg(getMsg())
+                    .expected(getExpected())
+                    .actual(getActual())
+                    .diffKey(diffKey)
+                    .reason(getReason())
+                    .subDiffs(copiedSubDiffs)
+                    .build();
+        }
+
+        /**
+         * 在差异原因的基础上生成新的差异原因, 同样延迟到首次获取时才会生成
+         *
+         * @param mapper 根据原来的差异原因生成新的差异原因
+         */
+        public void mapReason(UnaryOperator<String> mapper) {
+            String current = reason;
+            Supplier<String> origin = current != null || lazyReason == null ? () -> current : lazyReason;
+            this.reason = null;
+            this.lazyReason = () -> mapper.apply(origin.get());
+        }
     }
 }
@@ -0,0 +1,88 @@
+package com.myhexin.autotest.jsoncomparison.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/**
+ * 基于{@link ByteBuffer}的输入流, 读取时直接从缓冲区中复制到调用方的数组中, 不会复制整个缓冲区
+ * <p>
+ * 子类可以通过{@link #nextBuffer()}按顺序提供多个缓冲区
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class ByteBufferInputStream extends InputStream {
+
+    private ByteBuffer buffer;
+
+    private boolean finished;
+
+    /**
+     * @param buffer 需要读取的缓冲区, 从当前position读取到limit, 读取时不会修改该缓冲区的position
+     */
+    public ByteBufferInputStream(ByteBuffer buffer) {
+        this.buffer = buffer == null ? null : buffer.duplicate();
+    }
+
+    /**
+     * 当前缓冲区读取完毕后获取下一个缓冲区
+     *
+     * @return 下一个缓冲区, 没有更多内容时返回null
+     * @throws IOException 获取缓冲区失败
+     */
+    protected ByteBuffer nextBuffer() throws IOException {
+        return null;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!ensureRemaining()) {
+            return -1;
+        }
+        int count = Math.min(length, buffer.remaining());
+        buffer.get(bytes, offset, count);
+        return count;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && ensureRemaining()) {
+            int count = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + count);
+            skipped += count;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return buffer == null ? 0 : buffer.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer = null;
+        finished = true;
+    }
+
+    private boolean ensureRemaining() throws IOException {
+        while (!finished && (buffer == null || !buffer.hasRemaining())) {
+            buffer = nextBuffer();
+            finished = buffer == null;
+        }
+        return !finished;
+    }
+}
@@ -2,9 +2,14 @@ package com.myhexin.autotest.jsoncomparison.utils;
 
 import cn.hutool.core.lang.Assert;
 import cn.hutool.core.text.CharSequenceUtil;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.node.JsonNodeType;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.node.TextNode;
@@ -13,16 +18,31 @@ import com.github.fge.jsonschema.core.report.LogLevel;
 import com.github.fge.jsonschema.core.report.ProcessingReport;
 import com.github.fge.jsonschema.main.JsonSchema;
 import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DisorderMatchModeEnum;
+import com.myhexin.autotest.jsoncomparison.compare.enums.TolerantModeEnum;
 import com.myhexin.autotest.jsoncomparison.compare.factory.JsonComparator;
 import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.UniqueKey;
 import io.burt.jmespath.Expression;
 import io.burt.jmespath.jackson.JacksonRuntime;
 import lombok.extern.slf4j.Slf4j;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 /**
  * @author baoyh
@@ -35,8 +55,24 @@ public final class JsonUtils {
 
     private static final JacksonRuntime JACKSON_RUNTIME = new JacksonRuntime();
 
+    /**
+     * 默认缓存的JmesPath表达式个数
+     */
+    private static final int DEFAULT_JMES_PATH_CACHE_SIZE = 1024;
+
+    private static final LruCache<String, Expression<JsonNode>> JMES_PATH_CACHE =
+            new LruCache<>(DEFAULT_JMES_PATH_CACHE_SIZE);
+
     private static final JsonSchemaFactory DEFAULT_JSON_SCHEMA_FACTORY = JsonSchemaFactory.byDefault();
 
+    /**
+     * 默认缓存的JsonSchema个数
+     */
+    private static final int DEFAULT_JSON_SCHEMA_CACHE_SIZE = 256;
+
+    private static final LruCache<String, Optional<JsonSchema>> JSON_SCHEMA_CACHE =
+            new LruCache<>(DEFAULT_JSON_SCHEMA_CACHE_SIZE);
+
     private static final String JSON_SCHEMA_ARRAY_STR = "array";
 
     private static final String JSON_SCHEMA_ITEMS = "items";
@@ -49,8 +85,16 @@ public final class JsonUtils {
 
     private static final String FIELD_ALLOW_TOLERANT = "allow_tolerant";
 
+    private static final String FIELD_TOLERANT_MODE = "mode";
+
+    private static final String FIELD_TOLERANT_VALUE = "value";
+
     private static final String ARRAY_FIELD_DISORDER = "disorder";
 
+    private static final String ARRAY_FIELD_DISORDER_MATCH_MODE = "disorder_match_mode";
+
+    private static final String ARRAY_FIELD_ALIGNMENT = "alignment";
+
     private static final String FILED_ALLOWED_MAPPING = "field_mapping";
 
     private static final String EMPTY_STRING = "";
@@ -92,6 +136,100 @@ public final class JsonUtils {
         }
     }
 
+    /**
+     * 根据输入流创建Json解析器, 解析器可以将当前位置的值读取为{@link JsonNode}
+     *
+     * @param in 输入流
+     * @return Json解析器
+     * @throws IOException 创建解析器失败
+     */
+    public static JsonParser createParser(InputStream in) throws IOException {
+        return OBJECT_MAPPER.getFactory().createParser(in);
+    }
+
+    /**
+     * 根据缓冲区创建Json解析器, 堆内缓冲区直接交给字节数组解析器, 堆外缓冲区按块读取, 均不会复制整个缓冲区
+     *
+     * @param buffer 缓冲区, 从当前position解析到limit
+     * @return Json解析器
+     * @throws IOException 创建解析器失败
+     */
+    public static JsonParser createParser(ByteBuffer buffer) throws IOException {
+        if (buffer.hasArray()) {
+            return OBJECT_MAPPER.getFactory().createParser(
+                    buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        return createParser(new ByteBufferInputStream(buffer));
+    }
+
+    /**
+     * 根据文件创建Json解析器, 文件通过内存映射读取, 关闭解析器时同时关闭文件
+     *
+     * @param path 文件路径
+     * @return Json解析器
+     * @throws IOException 打开文件或创建解析器失败
+     */
+    public static JsonParser createParser(Path path) throws IOException {
+        return createParser(new MappedFileInputStream(path));
+    }
+
+    /**
+     * 通过内存映射读取文件并解析为{@link JsonNode}
+     *
+     * @param path 文件路径
+     * @return 解析后的JsonNode
+     * @throws IOException 读取或解析文件失败
+     */
+    public static JsonNode readTree(Path path) throws IOException {
+        try (JsonParser parser = createParser(path)) {
+            return readTree(parser);
+        }
+    }
+
+    /**
+     * 将缓冲区中的内容解析为{@link JsonNode}
+     *
+     * @param buffer 缓冲区, 从当前position解析到limit
+     * @return 解析后的JsonNode
+     * @throws IOException 解析失败
+     */
+    public static JsonNode readTree(ByteBuffer buffer) throws IOException {
+        try (JsonParser parser = createParser(buffer)) {
+            return readTree(parser);
+        }
+    }
+
+    /**
+     * 根据输出流创建Json生成器, 生成器内部的缓冲区来自于Jackson的缓冲区池, 多个根节点之间不输出分隔符
+     *
+     * @param out 输出流
+     * @return Json生成器
+     * @throws IOException 创建生成器失败
+     */
+    public static JsonGenerator createGenerator(OutputStream out) throws IOException {
+        JsonGenerator generator = OBJECT_MAPPER.getFactory().createGenerator(out, JsonEncoding.UTF8);
+        generator.setRootValueSeparator(null);
+        return generator;
+    }
+
+    /**
+     * 获取指定类型的序列化器, 每次写出后不会刷新生成器
+     *
+     * @param type 需要序列化的类型
+     * @return 序列化器
+     */
+    public static ObjectWriter writerFor(Class<?> type) {
+        return OBJECT_MAPPER.writerFor(type).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    private static JsonNode readTree(JsonParser parser) throws IOException {
+        JsonNode node = OBJECT_MAPPER.readTree(parser);
+        if (node == null) {
+            throw new IOException("没有可以解析的Json内容！");
+        }
+        return node;
+    }
+
     /**
      * 根据JmesPath来获取Json字符串下的value
      *
@@ -99,8 +237,63 @@ public final class JsonUtils {
      * @return
      */
     public static JsonNode getJsonNodeByJmesPath(String jsonStr, String expr) {
-        Expression<JsonNode> expression = JACKSON_RUNTIME.compile(expr);
-        return expression.search(getJsonNode(jsonStr));
+        return getJsonNodeByJmesPath(getJsonNode(jsonStr), expr);
+    }
+
+    /**
+     * 根据JmesPath来获取Json下的value
+     *
+     * @param jsonNode 已经解析的Json
+     * @param expr     jmesPath的表达式
+     * @return
+     */
+    public static JsonNode getJsonNodeByJmesPath(JsonNode jsonNode, String expr) {
+        return compileJmesPath(expr).search(jsonNode);
+    }
+
+    /**
+     * 根据多个JmesPath来获取Json下的value, Json只需要解析一次
+     *
+     * @param jsonStr Json字符串
+     * @param exprs   jmesPath的表达式
+     * @return 表达式 -> value, 顺序与表达式的顺序一致
+     */
+    public static Map<String, JsonNode> getJsonNodesByJmesPath(String jsonStr, Collection<String> exprs) {
+        return getJsonNodesByJmesPath(getJsonNode(jsonStr), exprs);
+    }
+
+    /**
+     * 根据多个JmesPath来获取Json下的value
+     *
+     * @param jsonNode 已经解析的Json
+     * @param exprs    jmesPath的表达式
+     * @return 表达式 -> value, 顺序与表达式的顺序一致
+     */
+    public static Map<String, JsonNode> getJsonNodesByJmesPath(JsonNode jsonNode, Collection<String> exprs) {
+        Map<String, JsonNode> values = new LinkedHashMap<>(exprs.size() * 2);
+        for (String expr : exprs) {
+            values.put(expr, getJsonNodeByJmesPath(jsonNode, expr));
+        }
+        return values;
+    }
+
+    /**
+     * 编译JmesPath表达式, 编译结果会被缓存, 编译后的表达式是线程安全的
+     *
+     * @param expr jmesPath的表达式
+     * @return 编译后的表达式
+     */
+    public static Expression<JsonNode> compileJmesPath(String expr) {
+        return JMES_PATH_CACHE.get(expr, JACKSON_RUNTIME::compile);
+    }
+
+    /**
+     * 编译后的JmesPath表达式缓存, 可以用于查看命中率或调整缓存的表达式个数
+     *
+     * @return 缓存
+     */
+    public static LruCache<String, Expression<JsonNode>> getJmesPathCache() {
+        return JMES_PATH_CACHE;
     }
 
     public static <T extends JsonNode> T castJsonNode(
@@ -131,23 +324,36 @@ public final class JsonUtils {
     }
 
     /**
-     * 根据输入的JsonSchema字符串获取JsonSchema对象
+     * 根据输入的JsonSchema字符串获取JsonSchema对象, 相同内容的JsonSchema只会编译一次
      *
      * @param jsonSchema 代表jsonSchema的字符串
      * @return
      */
     public static Optional<JsonSchema> getStandardJsonSchema(String jsonSchema) {
-        JsonNode jsonSchemaNode = getJsonNode(jsonSchema);
-        return getStandardJsonSchema(jsonSchemaNode);
+        return JSON_SCHEMA_CACHE.get(jsonSchema, key -> compileJsonSchema(getJsonNode(key)));
     }
 
     /**
-     * 根据输入的JsonSchema字符串获取JsonSchema对象
+     * 根据输入的JsonSchema对象获取JsonSchema对象, 相同内容的JsonSchema只会编译一次
      *
-     * @param jsonSchema 代表jsonSchema的字符串
+     * @param jsonSchema 代表jsonSchema的Json
      * @return
      */
     public static Optional<JsonSchema> getStandardJsonSchema(JsonNode jsonSchema) {
+        return JSON_SCHEMA_CACHE.get(jsonSchema.toString(), key -> compileJsonSchema(jsonSchema));
+    }
+
+    /**
+     * 编译后的JsonSchema缓存, key为JsonSchema的字符串, 不合法的JsonSchema同样会被缓存,
+     * 可以用于查看命中率或调整缓存的个数
+     *
+     * @return 缓存
+     */
+    public static LruCache<String, Optional<JsonSchema>> getJsonSchemaCache() {
+        return JSON_SCHEMA_CACHE;
+    }
+
+    private static Optional<JsonSchema> compileJsonSchema(JsonNode jsonSchema) {
         try {
             if (jsonSchema.has(SCHEMA_TYPE_FIELD_NAME) && jsonSchema.has(JSON_SCHEMA_PROPERTIES_FIELD_NAME)) {
                 JsonSchema schema = DEFAULT_JSON_SCHEMA_FACTORY.getJsonSchema(jsonSchema);
@@ -189,27 +395,69 @@ public final class JsonUtils {
      * @return
      */
     public static boolean verifyJsonByJsonSchema(String jsonStr, String jsonSchema) {
-        Optional<Boolean> isPassed = getStandardJsonSchema(jsonSchema).map(schema -> {
-            try {
-                ProcessingReport report = schema.validate(getJsonNode(jsonStr));
-                boolean isSuccess = report.isSuccess();
-                if (!isSuccess) {
-                    StringBuilder builder = new StringBuilder("预期Json不符合JsonSchema, 不符合的点如下: \n");
-                    report.forEach(processingMessage -> {
-                        if (processingMessage.getLogLevel().compareTo(LogLevel.ERROR) == 0) {
-                            JsonNode jsonNode = processingMessage.asJson();
-                            builder.append(jsonNode.toString()).append(", \n");
-                        }
-                    });
-                    log.debug(builder.toString());
-                }
-                return isSuccess;
-            } catch (ProcessingException e) {
-                log.warn("当前所输入的Json不符合预期的JsonSchema");
+        return getStandardJsonSchema(jsonSchema)
+                .map(schema -> verifyJsonByJsonSchema(getJsonNode(jsonStr), schema))
+                .orElse(false);
+    }
+
+    /**
+     * 校验一个Json是否符合预期给定的JsonSchema
+     *
+     * @param json       已经解析的Json
+     * @param jsonSchema 代表jsonSchema的字符串
+     * @return
+     */
+    public static boolean verifyJsonByJsonSchema(JsonNode json, String jsonSchema) {
+        return getStandardJsonSchema(jsonSchema)
+                .map(schema -> verifyJsonByJsonSchema(json, schema))
+                .orElse(false);
+    }
+
+    /**
+     * 校验一个Json是否符合预期给定的JsonSchema
+     *
+     * @param json       已经解析的Json
+     * @param jsonSchema 已经编译的JsonSchema
+     * @return
+     */
+    public static boolean verifyJsonByJsonSchema(JsonNode json, JsonSchema jsonSchema) {
+        try {
+            ProcessingReport report = jsonSchema.validate(json);
+            boolean isSuccess = report.isSuccess();
+            if (!isSuccess && log.isDebugEnabled()) {
+                StringBuilder builder = new StringBuilder("预期Json不符合JsonSchema, 不符合的点如下: \n");
+                report.forEach(processingMessage -> {
+                    if (processingMessage.getLogLevel().compareTo(LogLevel.ERROR) == 0) {
+                        JsonNode jsonNode = processingMessage.asJson();
+                        builder.append(jsonNode.toString()).append(", \n");
+                    }
+                });
+                log.debug(builder.toString());
             }
-            return false;
-        });
-        return isPassed.orElse(false);
+            return isSuccess;
+        } catch (ProcessingException e) {
+            log.warn("当前所输入的Json不符合预期的JsonSchema");
+        }
+        return false;
+    }
+
+    /**
+     * 使用同一个JsonSchema并行校验多个Json, JsonSchema只会编译一次
+     *
+     * @param jsons      已经解析的Json
+     * @param jsonSchema 代表jsonSchema的字符串
+     * @return 每个Json是否符合JsonSchema, 顺序与输入的顺序一致; JsonSchema不合法时全部为false
+     */
+    public static List<Boolean> verifyJsonsByJsonSchema(List<? extends JsonNode> jsons, String jsonSchema) {
+        Optional<JsonSchema> schema = getStandardJsonSchema(jsonSchema);
+        if (!schema.isPresent()) {
+            return new ArrayList<>(Collections.nCopies(jsons.size(), Boolean.FALSE));
+        }
+        JsonSchema compiled = schema.get();
+        // 并行流的结果顺序与输入的顺序一致
+        return jsons.parallelStream()
+                .map(json -> verifyJsonByJsonSchema(json, compiled))
+                .collect(Collectors.toList());
     }
 
     /**
@@ -299,6 +547,11 @@ public final class JsonUtils {
             getArrayWithDisorder(jsonNode, currentPath).ifPresent(
                     config -> compareConfig.getArrayWithDisorderPath().add(config)
             );
+            // 判断当前路径是否配置了按照元素对齐
+            JsonNode alignment = jsonNode.get(ARRAY_FIELD_ALIGNMENT);
+            if (Objects.nonNull(alignment) && alignment.asBoolean()) {
+                compareConfig.getArrayWithAlignmentPath().add(replaceArrayLastReplacement(currentPath));
+            }
         } else {
             // 判断当前路径是否配置了允许容差
             getAllowTolerant(jsonNode, currentPath).ifPresent(tolerantConfig ->
@@ -431,12 +684,54 @@ public final class JsonUtils {
         if (Objects.nonNull(tolerant)) {
             JsonCompareConfig.TolerantConfig tolerantConfig = new JsonCompareConfig.TolerantConfig();
             tolerantConfig.setPath(currentPath);
-            tolerantConfig.setTolerant(tolerant.asText());
+            tolerantConfig.setTolerant(getTolerantText(tolerant, currentPath));
             return Optional.of(tolerantConfig);
         }
         return Optional.empty();
     }
 
+    /**
+     * 获取容差的文本, 支持两种写法:
+     * <ul>
+     *     <li>数值或带后缀的字符串, 例如: 0.001、"1%"、"4ulp"</li>
+     *     <li>对象, 例如: {"mode": "relative", "value": 1}, mode参见{@link TolerantModeEnum}, 缺省时为绝对容差</li>
+     * </ul>
+     *
+     * @param tolerant    allow_tolerant的值
+     * @param currentPath 当前路径
+     * @return 带后缀的容差文本
+     */
+    private static String getTolerantText(JsonNode tolerant, String currentPath) {
+        if (!tolerant.isObject()) {
+            return tolerant.asText();
+        }
+        JsonNode value = tolerant.get(FIELD_TOLERANT_VALUE);
+        if (Objects.isNull(value) || value.isNull() || CharSequenceUtil.isBlank(value.asText())) {
+            throw new IllegalArgumentException("当前路径[" + currentPath + "]的容差缺少" + FIELD_TOLERANT_VALUE + ": " + tolerant);
+        }
+        JsonNode mode = tolerant.get(FIELD_TOLERANT_MODE);
+        TolerantModeEnum modeEnum = Objects.isNull(mode) || mode.isNull()
+                ? TolerantModeEnum.ABSOLUTE : parseEnum(TolerantModeEnum.class, mode.asText(), currentPath);
+        return value.asText() + modeEnum.getSuffix();
+    }
+
+    /**
+     * 按照名称解析配置中的枚举, 忽略大小写
+     *
+     * @param enumClass   枚举类型
+     * @param name        配置中的名称
+     * @param currentPath 当前路径
+     * @return 枚举值
+     */
+    private static <E extends Enum<E>> E parseEnum(Class<E> enumClass, String name, String currentPath) {
+        try {
+            return Enum.valueOf(enumClass, name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("当前路径[" + currentPath + "]配置了不支持的"
+                    + enumClass.getSimpleName() + ": " + name, e);
+        }
+    }
+
     /**
      * 判断当前路径是否设置了字段映射
      *
@@ -468,9 +763,24 @@ public final class JsonUtils {
         if (Objects.nonNull(disorder)) {
             JsonCompareConfig.ArrayWithDisorderConfig config = new JsonCompareConfig.ArrayWithDisorderConfig();
             config.setPath(replaceArrayLastReplacement(currentPath));
-            if (!disorder.isNull() && CharSequenceUtil.isNotBlank(disorder.asText())) {
+            if (disorder.isArray()) {
+                // 复合唯一键, 例如: ["accountId", "symbol", "meta.id"]
+                List<String> keys = new ArrayList<>(disorder.size());
+                disorder.forEach(key -> {
+                    if (CharSequenceUtil.isNotBlank(key.asText())) {
+                        keys.add(key.asText().trim());
+                    }
+                });
+                if (!keys.isEmpty()) {
+                    config.setUniqueKey(String.join(UniqueKey.KEY_SEPARATOR, keys));
+                }
+            } else if (!disorder.isNull() && CharSequenceUtil.isNotBlank(disorder.asText())) {
                 config.setUniqueKey(disorder.asText());
             }
+            JsonNode matchMode = jsonNode.get(ARRAY_FIELD_DISORDER_MATCH_MODE);
+            if (Objects.nonNull(matchMode) && CharSequenceUtil.isNotBlank(matchMode.asText())) {
+                config.setMatchMode(parseEnum(DisorderMatchModeEnum.class, matchMode.asText(), currentPath));
+            }
             return Optional.of(config);
         }
         return Optional.empty();
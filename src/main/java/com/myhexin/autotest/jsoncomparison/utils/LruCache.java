@@ -0,0 +1,226 @@
+package com.myhexin.autotest.jsoncomparison.utils;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Data;
+
+import java.io.Serializable;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * 按照容量淘汰最久未访问元素的缓存
+ * <p>
+ * 每个元素的容量由权重函数计算, 例如按照字符串的长度计算, 总容量超过上限时从最久未访问的元素开始淘汰.
+ * 同时记录命中、未命中以及淘汰的次数, 用于评估缓存的容量是否合适
+ * <p>
+ * 线程安全, 所有操作均使用当前对象加锁, 加载元素时不持有锁, 同一个key可能会被并发加载多次
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public final class LruCache<K, V> {
+
+    private final LinkedHashMap<K, Entry<V>> map = new LinkedHashMap<>(16, 0.75F, true);
+
+    private final ToLongBiFunction<? super K, ? super V> weigher;
+
+    private long maxWeight;
+
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * 每个元素的权重均为1, 即按照元素个数进行淘汰
+     *
+     * @param maxSize 最多缓存的元素个数
+     */
+    public LruCache(long maxSize) {
+        this(maxSize, (k, v) -> 1L);
+    }
+
+    /**
+     * @param maxWeight 所有元素的权重之和的上限, 为0时不缓存任何元素
+     * @param weigher   元素的权重
+     */
+    public LruCache(long maxWeight, ToLongBiFunction<? super K, ? super V> weigher) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("缓存容量不能小于0: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /**
+     * 获取缓存的元素
+     *
+     * @param key key
+     * @return 未缓存时返回null
+     */
+    public synchronized V get(K key) {
+        Entry<V> entry = map.get(key);
+        if (entry == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        return entry.value;
+    }
+
+    /**
+     * 获取缓存的元素, 未缓存时加载并放入缓存
+     *
+     * @param key    key
+     * @param loader 加载函数, 返回null时不缓存
+     * @return 元素
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 放入元素, 权重超过容量上限的元素不会被缓存
+     *
+     * @param key   key
+     * @param value 元素
+     */
+    public synchronized void put(K key, V value) {
+        long entryWeight = weigher.applyAsLong(key, value);
+        if (entryWeight > maxWeight) {
+            return;
+        }
+        Entry<V> previous = map.put(key, new Entry<>(value, entryWeight));
+        if (previous != null) {
+            weight -= previous.weight;
+        }
+        weight += entryWeight;
+        evict();
+    }
+
+    /**
+     * 修改容量上限, 缩小时会立即淘汰超出的元素
+     *
+     * @param maxWeight 所有元素的权重之和的上限
+     */
+    public synchronized void setMaxWeight(long maxWeight) {
+        if (maxWeight < 0) {
+            throw new IllegalArgumentException("缓存容量不能小于0: " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        evict();
+    }
+
+    /**
+     * 清空缓存的元素以及统计信息
+     */
+    public synchronized void clear() {
+        map.clear();
+        weight = 0;
+        hitCount = 0;
+        missCount = 0;
+        evictionCount = 0;
+    }
+
+    /**
+     * 获取当前的统计信息
+     *
+     * @return 统计信息的快照
+     */
+    public synchronized Stats stats() {
+        Stats stats = new Stats();
+        stats.setHitCount(hitCount);
+        stats.setMissCount(missCount);
+        stats.setEvictionCount(evictionCount);
+        stats.setSize(map.size());
+        stats.setWeight(weight);
+        stats.setMaxWeight(maxWeight);
+        return stats;
+    }
+
+    private void evict() {
+        Iterator<Entry<V>> iterator = map.values().iterator();
+        while (weight > maxWeight && iterator.hasNext()) {
+            weight -= iterator.next().weight;
+            iterator.remove();
+            evictionCount++;
+        }
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+
+        private final long weight;
+
+        private Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    /**
+     * 缓存的统计信息
+     */
+    @Data
+    public static class Stats implements Serializable {
+
+        /**
+         * 命中次数
+         */
+        @JsonProperty("hit_count")
+        private long hitCount;
+
+        /**
+         * 未命中次数
+         */
+        @JsonProperty("miss_count")
+        private long missCount;
+
+        /**
+         * 因为超出容量而被淘汰的元素个数
+         */
+        @JsonProperty("eviction_count")
+        private long evictionCount;
+
+        /**
+         * 当前缓存的元素个数
+         */
+        private int size;
+
+        /**
+         * 当前缓存的元素的权重之和
+         */
+        private long weight;
+
+        /**
+         * 权重之和的上限
+         */
+        @JsonProperty("max_weight")
+        private long maxWeight;
+
+        /**
+         * 命中率, 没有任何访问时为0
+         *
+         * @return 命中率
+         */
+        @JsonProperty("hit_rate")
+        public double getHitRate() {
+            long requestCount = hitCount + missCount;
+            return requestCount == 0 ? 0 : (double) hitCount / requestCount;
+        }
+    }
+}
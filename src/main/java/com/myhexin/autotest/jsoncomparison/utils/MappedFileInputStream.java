@@ -0,0 +1,74 @@
+package com.myhexin.autotest.jsoncomparison.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 通过内存映射读取文件的输入流
+ * <p>
+ * 使用{@link FileChannel#map}将文件按照窗口依次映射到内存中, 文件内容不会被复制到堆中,
+ * 单个映射最大为2GB, 超过窗口大小的文件会在读取完当前窗口后映射下一个窗口.
+ * 映射的内存在缓冲区被回收时释放
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class MappedFileInputStream extends ByteBufferInputStream {
+
+    /**
+     * 默认的映射窗口大小: 1GB
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private final int windowSize;
+
+    private long position;
+
+    public MappedFileInputStream(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * @param path       文件路径
+     * @param windowSize 每次映射的字节数
+     * @throws IOException 打开文件失败
+     */
+    public MappedFileInputStream(Path path, int windowSize) throws IOException {
+        super(null);
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("映射的窗口大小必须大于0, 当前为: " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    protected ByteBuffer nextBuffer() throws IOException {
+        if (position >= size) {
+            return null;
+        }
+        long length = Math.min(windowSize, size - position);
+        ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        position += length;
+        return buffer;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.min(Integer.MAX_VALUE, super.available() + size - position);
+    }
+
+    @Override
+    public void close() throws IOException {
+        super.close();
+        channel.close();
+    }
+}
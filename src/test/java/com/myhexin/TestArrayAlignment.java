@@ -0,0 +1,135 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.matcher.ArrayAligner;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestArrayAlignment {
+
+    private BriefDiffResult compare(JsonNode actual, JsonNode expected) {
+        JsonCompareConfig config = new JsonCompareConfig();
+        config.getArrayWithAlignmentPath().add("$.list");
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    @Test
+    public void testInsertNearHead() {
+        int size = 50000;
+        ObjectNode actual = JsonNodeFactory.instance.objectNode();
+        ObjectNode expected = JsonNodeFactory.instance.objectNode();
+        ArrayNode actualList = actual.putArray("list");
+        ArrayNode expectedList = expected.putArray("list");
+        for (int i = 0; i < size; i++) {
+            if (i == 3) {
+                actualList.addObject().put("id", -1);
+            }
+            actualList.addObject().put("id", i);
+            expectedList.addObject().put("id", i);
+        }
+        BriefDiffResult result = compare(actual, expected);
+        Assert.assertEquals(2, result.getBriefDiffs().size());
+        Assert.assertEquals(DiffEnum.LIST_LENGTH_NOT_EQUALS.getType(), result.getBriefDiffs().get(0).getType());
+        BriefDiffResult.BriefDiff inserted = result.getBriefDiffs().get(1);
+        Assert.assertEquals(DiffEnum.ARRAY_ELEMENT_INSERTED.getType(), inserted.getType());
+        Assert.assertEquals("$.list[3]", inserted.getDiffKey());
+        Assert.assertEquals("[{\"id\":-1}]", inserted.getActual());
+        Assert.assertEquals(1, result.getChildActualJson().get("list").size());
+    }
+
+    @Test
+    public void testChangedAndDeleted() {
+        JsonNode actual = JsonUtils.getJsonNode("{\"list\": [1, 2, 30, 4, 7, 8]}");
+        JsonNode expected = JsonUtils.getJsonNode("{\"list\": [1, 2, 3, 4, 5, 6, 7, 8]}");
+        BriefDiffResult result = compare(actual, expected);
+        Assert.assertEquals(3, result.getBriefDiffs().size());
+        BriefDiffResult.BriefDiff changed = result.getBriefDiffs().get(1);
+        Assert.assertEquals(DiffEnum.VALUE_UNEQUALS.getType(), changed.getType());
+        Assert.assertEquals("$.list[2]", changed.getDiffKey());
+        BriefDiffResult.BriefDiff deleted = result.getBriefDiffs().get(2);
+        Assert.assertEquals(DiffEnum.ARRAY_ELEMENT_DELETED.getType(), deleted.getType());
+        Assert.assertEquals("$.list[4]", deleted.getDiffKey());
+        Assert.assertEquals("[5,6]", deleted.getExpected());
+
+        // 未配置对齐时仍然按照下标对比
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(new JsonCompareConfig())
+                .build();
+        Assert.assertEquals(4, JsonComparatorFactory.build().execute(actual.getNodeType(), params).getBriefDiffs().size());
+    }
+
+    @Test
+    public void testAlignerIsMinimal() {
+        Random random = new Random(42);
+        for (int t = 0; t < 20000; t++) {
+            long[] actual = randomArray(random);
+            long[] expected = randomArray(random);
+            List<ArrayAligner.Segment> segments = ArrayAligner.align(actual, expected, 100);
+            int actualIndex = 0;
+            int expectedIndex = 0;
+            int same = 0;
+            for (ArrayAligner.Segment segment : segments) {
+                Assert.assertEquals(actualIndex, segment.getActualStart());
+                Assert.assertEquals(expectedIndex, segment.getExpectedStart());
+                if (segment.getKind() == ArrayAligner.Kind.SAME) {
+                    for (int k = 0; k < segment.getLength(); k++) {
+                        Assert.assertEquals(actual[actualIndex + k], expected[expectedIndex + k]);
+                    }
+                    same += segment.getLength();
+                }
+                if (segment.getKind() != ArrayAligner.Kind.DELETED) {
+                    actualIndex += segment.getLength();
+                }
+                if (segment.getKind() != ArrayAligner.Kind.INSERTED) {
+                    expectedIndex += segment.getLength();
+                }
+            }
+            Assert.assertEquals(actual.length, actualIndex);
+            Assert.assertEquals(expected.length, expectedIndex);
+            Assert.assertEquals(lcs(actual, expected), same);
+        }
+        Assert.assertNull(ArrayAligner.align(new long[]{1, 2, 3, 4}, new long[]{5, 6, 7, 8}, 3));
+    }
+
+    private static long[] randomArray(Random random) {
+        long[] array = new long[random.nextInt(12)];
+        int alphabet = 1 + random.nextInt(4);
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(alphabet);
+        }
+        return array;
+    }
+
+    private static int lcs(long[] actual, long[] expected) {
+        int[][] dp = new int[actual.length + 1][expected.length + 1];
+        for (int i = actual.length - 1; i >= 0; i--) {
+            for (int j = expected.length - 1; j >= 0; j--) {
+                dp[i][j] = actual[i] == expected[j] ? dp[i + 1][j + 1] + 1 : Math.max(dp[i + 1][j], dp[i][j + 1]);
+            }
+        }
+        return dp[0][0];
+    }
+}
@@ -0,0 +1,133 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.batch.BatchCompareResult;
+import com.myhexin.autotest.jsoncomparison.compare.batch.BatchJsonComparator;
+import com.myhexin.autotest.jsoncomparison.compare.batch.BatchMetrics;
+import com.myhexin.autotest.jsoncomparison.compare.batch.ComparePair;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.CompareMetrics;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.CompareMetricsListener;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestBatchCompare {
+
+    private final JsonCompareConfig config;
+
+    private final List<ComparePair> pairs = new ArrayList<>();
+
+    public TestBatchCompare() {
+        config = new JsonCompareConfig();
+        config.getIgnorePath().add("$.ts");
+        for (int i = 0; i < 100; i++) {
+            pairs.add(ComparePair.of(
+                    JsonUtils.getJsonNode("{\"id\": " + i + ", \"ts\": " + i + ", \"list\": [" + (i % 3) + ", 1]}"),
+                    JsonUtils.getJsonNode("{\"id\": " + i + ", \"ts\": 0, \"list\": [0, 1]}")
+            ));
+        }
+    }
+
+    private String single(ComparePair pair) {
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(pair.getActual())
+                .expected(pair.getExpected())
+                .config(config)
+                .build();
+        return JsonUtils.toJsonString(
+                JsonComparatorFactory.build().execute(pair.getActual().getNodeType(), params).getBriefDiffs());
+    }
+
+    @Test
+    public void testSubmissionOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try (BatchJsonComparator comparator = new BatchJsonComparator(config, executor, 8)) {
+            BatchCompareResult result = comparator.compare(pairs.stream());
+            Assert.assertEquals(pairs.size(), result.getResults().size());
+            for (int i = 0; i < pairs.size(); i++) {
+                Assert.assertEquals(single(pairs.get(i)),
+                        JsonUtils.toJsonString(result.getResults().get(i).getBriefDiffs()));
+            }
+            BatchMetrics metrics = result.getMetrics();
+            Assert.assertEquals(pairs.size(), metrics.getPairNum());
+            Assert.assertEquals(66, metrics.getDiffPairNum());
+            Assert.assertTrue(metrics.getP50Micros() <= metrics.getP99Micros());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAsCompleted() {
+        BitSet indexes = new BitSet();
+        try (BatchJsonComparator comparator = new BatchJsonComparator(config)) {
+            BatchMetrics metrics = comparator.compare(pairs.iterator(), (BriefDiffResult result, int index) -> {
+                Assert.assertFalse(indexes.get(index));
+                indexes.set(index);
+            });
+            Assert.assertEquals(pairs.size(), metrics.getPairNum());
+        }
+        Assert.assertEquals(pairs.size(), indexes.cardinality());
+    }
+
+    @Test
+    public void testCancelOnFailure() throws InterruptedException {
+        CountDownLatch failed = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            protected void beforeExecute(Thread t, Runnable r) {
+                // 第一组失败并被调用方处理之前, 不开始剩余的对比
+                if (started.getAndIncrement() > 0) {
+                    try {
+                        failed.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        };
+        List<ComparePair> failing = new ArrayList<>();
+        failing.add(ComparePair.of(null, pairs.get(0).getExpected()));
+        failing.addAll(pairs.subList(1, 4));
+        // 被取消的对比不会访问任何节点
+        AtomicInteger visited = new AtomicInteger();
+        CompareMetrics.setListener(new CompareMetricsListener() {
+            @Override
+            public void onNodeVisited(JsonNodeType nodeType) {
+                visited.incrementAndGet();
+            }
+        });
+        try (BatchJsonComparator comparator = new BatchJsonComparator(config, executor, 4)) {
+            Assert.assertThrows(IllegalStateException.class, () -> comparator.compare(failing.stream()));
+            failed.countDown();
+            executor.shutdown();
+            Assert.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+            Assert.assertEquals(0, visited.get());
+        } finally {
+            failed.countDown();
+            executor.shutdownNow();
+            CompareMetrics.setListener(null);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeType;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.CompareMetrics;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.CompareMetricsListener;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.Histogram;
+import com.myhexin.autotest.jsoncomparison.compare.metrics.HistogramMetricsListener;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestCompareMetrics {
+
+    @After
+    public void tearDown() {
+        CompareMetrics.setListener(null);
+    }
+
+    private BriefDiffResult compare(String actualJson, String expectedJson, JsonCompareConfig config) {
+        JsonNode actual = JsonUtils.getJsonNode(actualJson);
+        JsonNode expected = JsonUtils.getJsonNode(expectedJson);
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    @Test
+    public void testDefaultListener() {
+        Assert.assertSame(CompareMetricsListener.NOOP, CompareMetrics.getListener());
+    }
+
+    @Test
+    public void testHistogramListener() {
+        HistogramMetricsListener listener = new HistogramMetricsListener();
+        CompareMetrics.setListener(listener);
+        JsonCompareConfig config = new JsonCompareConfig();
+        config.getIgnorePath().add("$.ts");
+        BriefDiffResult result = compare(
+                "{\"a\": 1, \"b\": \"x\", \"c\": [1, 2], \"ts\": 1}",
+                "{\"a\": 2, \"b\": \"x\", \"c\": [1, 3], \"d\": true, \"ts\": 2}",
+                config
+        );
+
+        HistogramMetricsListener.MetricsSnapshot snapshot = listener.snapshot();
+        Assert.assertEquals(1L, snapshot.getNodeVisits().get(JsonNodeType.OBJECT).longValue());
+        Assert.assertEquals(1L, snapshot.getNodeVisits().get(JsonNodeType.ARRAY).longValue());
+        Assert.assertEquals(1L, snapshot.getNodeVisits().get(JsonNodeType.STRING).longValue());
+        // 忽略以及完全一致的节点同样会被访问, 但是不会进行对比
+        Assert.assertEquals(4L, snapshot.getNodeVisits().get(JsonNodeType.NUMBER).longValue());
+        Histogram.Snapshot numberNanos = snapshot.getCompareNanos().get(JsonNodeType.NUMBER);
+        Assert.assertEquals(2L, numberNanos.getCount());
+        Assert.assertTrue(numberNanos.getMax() >= numberNanos.getP50());
+
+        Map<DiffEnum, Long> expectedDiffs = new EnumMap<>(DiffEnum.class);
+        for (BriefDiffResult.BriefDiff diff : result.getBriefDiffs()) {
+            expectedDiffs.merge(DiffEnum.of(diff.getType()), 1L, Long::sum);
+        }
+        Assert.assertEquals(expectedDiffs, snapshot.getDiffNums());
+        Assert.assertEquals(7L, snapshot.getRuleLookupNum());
+        // 根节点以及配置了忽略的节点
+        Assert.assertEquals(2L, snapshot.getRuleHitNum());
+
+        listener.reset();
+        Assert.assertTrue(listener.snapshot().getNodeVisits().isEmpty());
+    }
+
+    @Test
+    public void testDisorderPairs() {
+        HistogramMetricsListener listener = new HistogramMetricsListener();
+        CompareMetrics.setListener(listener);
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.ArrayWithDisorderConfig disorderConfig = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorderConfig.setPath("$.list");
+        config.getArrayWithDisorderPath().add(disorderConfig);
+        BriefDiffResult result = compare(
+                "{\"list\": [{\"v\": 1}, {\"v\": 2}, {\"v\": 4}]}",
+                "{\"list\": [{\"v\": 3}, {\"v\": 2}, {\"v\": 1}]}",
+                config
+        );
+
+        HistogramMetricsListener.MetricsSnapshot snapshot = listener.snapshot();
+        Assert.assertTrue(snapshot.getDisorderPairNum() > 0);
+        // 试探对比中产生的差异不计入统计
+        Assert.assertEquals(1L, snapshot.getDiffNums().get(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED).longValue());
+        Assert.assertEquals(1L, snapshot.getDiffNums().get(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL).longValue());
+        Assert.assertEquals(result.getBriefDiffs().size(), snapshot.getDiffNums().size());
+    }
+}
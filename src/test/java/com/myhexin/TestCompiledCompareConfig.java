@@ -0,0 +1,68 @@
+package com.myhexin;
+
+import com.myhexin.autotest.jsoncomparison.config.CompiledCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestCompiledCompareConfig {
+
+    private JsonCompareConfig buildConfig() {
+        JsonCompareConfig config = new JsonCompareConfig();
+        config.getIgnorePath().add("$.data.timestamp");
+        config.getIgnorePath().add("$.data.list[*].id");
+        config.getIgnorePath().add("$.data.list[1].name");
+
+        JsonCompareConfig.TolerantConfig tolerant = new JsonCompareConfig.TolerantConfig();
+        tolerant.setPath("$.data.list[*].price");
+        tolerant.setTolerant("0.01");
+        config.getTolerantPath().add(tolerant);
+
+        JsonCompareConfig.FieldMapping mapping = new JsonCompareConfig.FieldMapping();
+        mapping.setPath("$.data.list[*].amount");
+        mapping.setMappingKey("amt");
+        config.getFieldMappings().add(mapping);
+
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.data.list");
+        disorder.setUniqueKey("id");
+        config.getArrayWithDisorderPath().add(disorder);
+        return config;
+    }
+
+    @Test
+    public void testSameAsLegacyLookup() {
+        JsonCompareConfig config = buildConfig();
+        CompiledCompareConfig compiled = config.compile();
+        String[] paths = {
+                "$", "$.data", "$.data.timestamp", "$.data.list", "$.data.list[0].id", "$.data.list[3].id",
+                "$.data.list[1].name", "$.data.list[2].name", "$.data.list[5].price", "$.data.list[5].amount",
+                "$.other.list[0].id"
+        };
+        for (String path : paths) {
+            PathRules rules = compiled.resolve(path);
+            Assert.assertEquals(path, config.isIgnorePath(path), rules.isIgnore());
+            Assert.assertEquals(path, config.isWithDisorderPath(path), rules.isDisorder());
+            Assert.assertEquals(path, config.getTolerantConfig(path), rules.getTolerantConfig());
+            Assert.assertEquals(path, config.getMappingConfig(path), rules.getFieldMapping());
+            Assert.assertEquals(path, config.getEscapedJson(path), rules.getEscapedJson());
+        }
+    }
+
+    @Test
+    public void testDescend() {
+        PathRules root = buildConfig().compile().getRoot();
+        PathRules list = root.field("data").field("list");
+        Assert.assertEquals("id", list.getUniqueKey());
+        Assert.assertTrue(list.element(1).field("name").isIgnore());
+        Assert.assertFalse(list.element(2).field("name").isIgnore());
+        Assert.assertTrue(list.element(1).field("id").isIgnore());
+        Assert.assertTrue(list.element(7).isMappingKey("amt"));
+        Assert.assertTrue(root.field("unknown").element(3).isEmpty());
+    }
+}
@@ -0,0 +1,47 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DetailLevelEnum;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestDetailLevel {
+
+    private static final String ACTUAL = "{\"a\": 1, \"b\": [1, 2, 3], \"c\": {\"d\": \"x\"}, \"tags\": [1, 2], \"f\": 1}";
+
+    private static final String EXPECTED = "{\"a\": 2, \"b\": [1, 5], \"c\": {\"d\": \"y\"}, \"tags\": [2, 3], \"g\": 1}";
+
+    private BriefDiffResult compare(DetailLevelEnum detailLevel) {
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.tags");
+        config.getArrayWithDisorderPath().add(disorder);
+        config.setDetailLevel(detailLevel);
+        JsonNode actual = JsonUtils.getJsonNode(ACTUAL);
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(JsonUtils.getJsonNode(EXPECTED))
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    @Test
+    public void testBrief() {
+        BriefDiffResult full = compare(DetailLevelEnum.FULL);
+        BriefDiffResult brief = compare(DetailLevelEnum.BRIEF);
+        Assert.assertEquals(JsonUtils.toJsonString(full.getBriefDiffs()), JsonUtils.toJsonString(brief.getBriefDiffs()));
+        Assert.assertEquals(5, full.getChildActualJson().size());
+        Assert.assertEquals(0, brief.getChildActualJson().size());
+        Assert.assertEquals(0, brief.getChildExpectedJson().size());
+    }
+}
@@ -0,0 +1,87 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.stream.StreamingJsonComparator;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestDiffBudget {
+
+    private static final String ACTUAL = "{\"a\": 1, \"b\": [1, 2, 3], \"c\": {\"d\": \"x\", \"e\": true}, "
+            + "\"tags\": [{\"id\": 1}, {\"id\": 2}], \"f\": 1}";
+
+    private static final String EXPECTED = "{\"a\": 2, \"b\": [1, 5, 6, 7], \"c\": {\"d\": \"y\", \"e\": false}, "
+            + "\"tags\": [{\"id\": 2}, {\"id\": 3}], \"g\": 1}";
+
+    private JsonCompareConfig config(Integer maxDiffNum) {
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.tags");
+        config.getArrayWithDisorderPath().add(disorder);
+        config.setMaxDiffNum(maxDiffNum);
+        return config;
+    }
+
+    private BriefDiffResult compare(String actual, String expected, Integer maxDiffNum) {
+        JsonNode actualNode = JsonUtils.getJsonNode(actual);
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actualNode)
+                .expected(JsonUtils.getJsonNode(expected))
+                .config(config(maxDiffNum))
+                .build();
+        return JsonComparatorFactory.build().execute(actualNode.getNodeType(), params);
+    }
+
+    private BriefDiffResult streaming(Integer maxDiffNum) throws IOException {
+        return new StreamingJsonComparator(config(maxDiffNum)).compare(
+                new ByteArrayInputStream(ACTUAL.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayInputStream(EXPECTED.getBytes(StandardCharsets.UTF_8))
+        );
+    }
+
+    @Test
+    public void testMaxDiffNum() {
+        BriefDiffResult all = compare(ACTUAL, EXPECTED, null);
+        Assert.assertTrue(all.getDiffNum() > 3);
+        for (int max = 1; max <= all.getDiffNum() + 1; max++) {
+            BriefDiffResult limited = compare(ACTUAL, EXPECTED, max);
+            int expectedNum = Math.min(max, all.getDiffNum());
+            Assert.assertEquals(expectedNum, limited.getDiffNum().intValue());
+            Assert.assertEquals(JsonUtils.toJsonString(all.getBriefDiffs().subList(0, expectedNum)),
+                    JsonUtils.toJsonString(limited.getBriefDiffs()));
+            // 设置了差异上限时不构建子差异Json
+            Assert.assertEquals(0, limited.getChildActualJson().size());
+        }
+    }
+
+    @Test
+    public void testEqualityOnly() {
+        Assert.assertEquals(1, compare(ACTUAL, EXPECTED, 0).getDiffNum().intValue());
+        String reordered = "{\"f\": 1, \"tags\": [{\"id\": 2}, {\"id\": 1}], \"c\": {\"e\": true, \"d\": \"x\"}, "
+                + "\"b\": [1, 2, 3], \"a\": 1.0}";
+        Assert.assertEquals(0, compare(ACTUAL, reordered, 0).getDiffNum().intValue());
+    }
+
+    @Test
+    public void testStreaming() throws IOException {
+        BriefDiffResult all = streaming(null);
+        BriefDiffResult limited = streaming(2);
+        Assert.assertEquals(2, limited.getDiffNum().intValue());
+        Assert.assertEquals(JsonUtils.toJsonString(all.getBriefDiffs().subList(0, 2)),
+                JsonUtils.toJsonString(limited.getBriefDiffs()));
+        Assert.assertEquals(1, streaming(0).getDiffNum().intValue());
+    }
+}
@@ -0,0 +1,141 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.sink.CountingDiffSink;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestDiffSink {
+
+    private static final String ACTUAL = "{\"a\": 1, \"orders\": [{\"oid\": 1, \"items\": [{\"sku\": \"x\", \"n\": 1}]}, "
+            + "{\"oid\": 2, \"n\": 3}], \"tags\": [1, 2], \"f\": 1}";
+
+    private static final String EXPECTED = "{\"a\": 2, \"orders\": [{\"oid\": 2, \"n\": 4}, "
+            + "{\"oid\": 1, \"items\": [{\"sku\": \"x\", \"n\": 2}]}], \"tags\": [2, 3], \"g\": 1}";
+
+    private CompareParams<JsonNode> params(JsonNode actual, JsonNode expected, JsonCompareConfig config) {
+        return CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+    }
+
+    private JsonCompareConfig config() {
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.ArrayWithDisorderConfig orders = new JsonCompareConfig.ArrayWithDisorderConfig();
+        orders.setPath("$.orders");
+        orders.setUniqueKey("oid");
+        config.getArrayWithDisorderPath().add(orders);
+        JsonCompareConfig.ArrayWithDisorderConfig tags = new JsonCompareConfig.ArrayWithDisorderConfig();
+        tags.setPath("$.tags");
+        config.getArrayWithDisorderPath().add(tags);
+        return config;
+    }
+
+    @Test
+    public void testSameAsList() {
+        JsonNode actual = JsonUtils.getJsonNode(ACTUAL);
+        JsonNode expected = JsonUtils.getJsonNode(EXPECTED);
+        JsonComparatorFactory factory = JsonComparatorFactory.build();
+        BriefDiffResult result = factory.executeContrast(actual.getNodeType(), params(actual, expected, config()));
+
+        List<BriefDiffResult.BriefDiff> callback = new ArrayList<>();
+        BriefDiffResult sinkResult = factory.executeContrast(
+                actual.getNodeType(), params(actual, expected, config()), callback::add
+        );
+        Assert.assertEquals(JsonUtils.toJsonString(result.getBriefDiffs()), JsonUtils.toJsonString(callback));
+        Assert.assertEquals(result.getDiffNum(), sinkResult.getDiffNum());
+        Assert.assertTrue(sinkResult.getBriefDiffs().isEmpty());
+        Assert.assertEquals(result.getChildActualJson(), sinkResult.getChildActualJson());
+        // 唯一键的信息在差异交给接收者之前就已经补充
+        Assert.assertTrue(callback.stream().anyMatch(d -> d.getReason().startsWith("当前唯一键[oid][1], 实际值")));
+
+        CountingDiffSink counter = new CountingDiffSink();
+        factory.executeContrast(actual.getNodeType(), params(actual, expected, config()), counter);
+        Assert.assertEquals(result.getDiffNum().intValue(), counter.getDiffNum());
+    }
+
+    @Test
+    public void testParallel() {
+        ObjectNode actual = JsonNodeFactory.instance.objectNode();
+        for (int i = 0; i < 100; i++) {
+            actual.putObject("o" + i).put("v", i).putArray("list").add(i).add(i + 1);
+        }
+        ObjectNode expected = actual.deepCopy();
+        for (int i = 0; i < 100; i += 7) {
+            ((ObjectNode) expected.get("o" + i)).put("v", -1);
+        }
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.ParallelConfig parallel = new JsonCompareConfig.ParallelConfig();
+        parallel.setEnabled(true);
+        parallel.setThreshold(8);
+        config.setParallel(parallel);
+
+        List<BriefDiffResult.BriefDiff> callback = new ArrayList<>();
+        JsonComparatorFactory factory = JsonComparatorFactory.build();
+        BriefDiffResult result = factory.executeContrast(actual.getNodeType(), params(actual, expected, config), callback::add);
+        Assert.assertEquals(15, result.getDiffNum().intValue());
+        Assert.assertEquals("$.o0.v", callback.get(0).getDiffKey());
+        Assert.assertEquals("$.o98.v", callback.get(14).getDiffKey());
+    }
+
+    @Test
+    public void testLazyMessage() {
+        AtomicInteger rendered = new AtomicInteger();
+        BriefDiffResult.BriefDiff diff = BriefDiffResult.BriefDiff.builder()
+                .diffKey("$.a")
+                .lazyReason(() -> "reason" + rendered.incrementAndGet())
+                .build();
+        diff.mapReason(r -> "[prefix]" + r);
+        Assert.assertEquals(0, rendered.get());
+        Assert.assertEquals("[prefix]reason1", diff.getReason());
+        Assert.assertEquals("[prefix]reason1", diff.getReason());
+        Assert.assertEquals(1, rendered.get());
+        Assert.assertTrue(JsonUtils.toJsonString(diff).contains("\"reason\":\"[prefix]reason1\""));
+        Assert.assertFalse(JsonUtils.toJsonString(diff).contains("lazy"));
+    }
+
+    @Test
+    public void testSerializeLazyDiff() throws Exception {
+        JsonNode actual = JsonUtils.getJsonNode("[0]");
+        BriefDiffResult.BriefDiff diff = BriefDiffResult.BriefDiff.builder()
+                .diffKey("$")
+                .lazyMsg(() -> "msg")
+                .lazyActual(actual::toString)
+                .lazyExpected(() -> "[1]")
+                .lazyReason(() -> "reason")
+                .build();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(diff);
+        }
+        BriefDiffResult.BriefDiff copy;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            copy = (BriefDiffResult.BriefDiff) in.readObject();
+        }
+        Assert.assertEquals("msg", copy.getMsg());
+        Assert.assertEquals("[0]", copy.getActual());
+        Assert.assertEquals("[1]", copy.getExpected());
+        Assert.assertEquals("reason", copy.getReason());
+    }
+}
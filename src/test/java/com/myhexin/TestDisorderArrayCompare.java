@@ -0,0 +1,182 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DisorderMatchModeEnum;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestDisorderArrayCompare {
+
+    private BriefDiffResult compare(String actualJson, String expectedJson, String uniqueKey) {
+        return compare(actualJson, expectedJson, uniqueKey, null);
+    }
+
+    private BriefDiffResult compare(String actualJson, String expectedJson, String uniqueKey,
+                                    DisorderMatchModeEnum matchMode) {
+        JsonNode actual = JsonUtils.getJsonNode(actualJson);
+        JsonNode expected = JsonUtils.getJsonNode(expectedJson);
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.ArrayWithDisorderConfig disorderConfig = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorderConfig.setPath("$.list");
+        disorderConfig.setUniqueKey(uniqueKey);
+        disorderConfig.setMatchMode(matchMode);
+        config.getArrayWithDisorderPath().add(disorderConfig);
+        config.getIgnorePath().add("$.list[*].ts");
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    @Test
+    public void testUniqueKey() {
+        BriefDiffResult result = compare(
+                "{\"list\": [{\"id\": 1, \"v\": \"a\"}, {\"id\": 2, \"v\": \"b\"}, {\"id\": 3, \"v\": \"c\"}]}",
+                "{\"list\": [{\"id\": 3, \"v\": \"c\"}, {\"id\": 1, \"v\": \"a\"}, {\"id\": 2, \"v\": \"x\"}]}",
+                "id"
+        );
+        Assert.assertEquals(1, result.getBriefDiffs().size());
+        BriefDiffResult.BriefDiff diff = result.getBriefDiffs().get(0);
+        Assert.assertEquals(DiffEnum.VALUE_UNEQUALS.getType(), diff.getType());
+        Assert.assertEquals("$.list[1].v", diff.getDiffKey());
+        Assert.assertTrue(diff.getReason().startsWith("当前唯一键[id][2]"));
+    }
+
+    @Test
+    public void testElementWithoutUniqueKey() {
+        BriefDiffResult result = compare(
+                "{\"list\": [{\"id\": 1, \"v\": \"a\"}, {\"v\": \"b\"}]}",
+                "{\"list\": [{\"v\": \"b\"}, {\"id\": 1, \"v\": \"a\"}]}",
+                "id"
+        );
+        Assert.assertEquals(0, result.getBriefDiffs().size());
+    }
+
+    @Test
+    public void testWithoutUniqueKey() {
+        BriefDiffResult equal = compare(
+                "{\"list\": [{\"v\": 1, \"ts\": 1}, {\"v\": 2.0, \"ts\": 2}, {\"v\": 3, \"ts\": 3}]}",
+                "{\"list\": [{\"v\": 3, \"ts\": 4}, {\"v\": 2, \"ts\": 5}, {\"v\": 1, \"ts\": 6}]}",
+                null
+        );
+        Assert.assertEquals(0, equal.getBriefDiffs().size());
+
+        BriefDiffResult notEqual = compare(
+                "{\"list\": [{\"v\": 1}, {\"v\": 2}, {\"v\": 4}]}",
+                "{\"list\": [{\"v\": 3}, {\"v\": 2}, {\"v\": 1}]}",
+                null
+        );
+        Assert.assertEquals(2, notEqual.getBriefDiffs().size());
+        Assert.assertEquals(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED.getType(), notEqual.getBriefDiffs().get(0).getType());
+        Assert.assertEquals("$.list[2]", notEqual.getBriefDiffs().get(0).getDiffKey());
+        Assert.assertEquals(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL.getType(), notEqual.getBriefDiffs().get(1).getType());
+        Assert.assertEquals("$.list[0]", notEqual.getBriefDiffs().get(1).getDiffKey());
+    }
+
+    @Test
+    public void testClosestMatch() {
+        String actualJson = "{\"list\": [{\"name\": \"a\", \"age\": 1, \"tag\": \"x\"}, "
+                + "{\"name\": \"b\", \"age\": 2, \"tag\": \"y\"}, {\"v\": 1}]}";
+        String expectedJson = "{\"list\": [{\"name\": \"b\", \"age\": 3, \"tag\": \"y\"}, "
+                + "{\"name\": \"a\", \"age\": 1, \"tag\": \"z\"}, {\"v\": 2}]}";
+        Assert.assertEquals(6, compare(actualJson, expectedJson, null).getBriefDiffs().size());
+
+        BriefDiffResult result = compare(actualJson, expectedJson, null, DisorderMatchModeEnum.CLOSEST);
+        Assert.assertEquals(4, result.getBriefDiffs().size());
+        BriefDiffResult.BriefDiff tag = result.getBriefDiffs().get(0);
+        Assert.assertEquals(DiffEnum.VALUE_UNEQUALS.getType(), tag.getType());
+        Assert.assertEquals("$.list[0].tag", tag.getDiffKey());
+        Assert.assertTrue(tag.getReason().startsWith("与预期中下标为[1]的元素最接近"));
+        Assert.assertEquals("$.list[1].age", result.getBriefDiffs().get(1).getDiffKey());
+        // 所有字段都不一致的元素不会被匹配
+        Assert.assertEquals(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED.getType(), result.getBriefDiffs().get(2).getType());
+        Assert.assertEquals(DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_ACTUAL.getType(), result.getBriefDiffs().get(3).getType());
+    }
+
+    @Test
+    public void testClosestMatchWithLargeArray() {
+        int size = 10000;
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            order.add(i);
+        }
+        Collections.shuffle(order, new Random(42));
+        StringBuilder actual = new StringBuilder("{\"list\": [");
+        StringBuilder expected = new StringBuilder("{\"list\": [");
+        for (int i = 0; i < size; i++) {
+            int id = order.get(i);
+            actual.append(i == 0 ? "" : ", ").append("{\"id\": ").append(i).append(", \"v\": 0, \"w\": ").append(i).append('}');
+            // 每个预期元素只有v不一致, 其中一部分还缺少字段w
+            expected.append(i == 0 ? "" : ", ").append("{\"id\": ").append(id).append(", \"v\": 1");
+            expected.append(id % 10 == 0 ? "}" : ", \"w\": " + id + "}");
+        }
+        actual.append("]}");
+        expected.append("]}");
+        BriefDiffResult result = compare(actual.toString(), expected.toString(), null, DisorderMatchModeEnum.CLOSEST);
+        long valueDiffs = result.getBriefDiffs().stream()
+                .filter(diff -> DiffEnum.VALUE_UNEQUALS.getType().equals(diff.getType()))
+                .count();
+        Assert.assertTrue(valueDiffs >= size * 9 / 10);
+        Assert.assertTrue(result.getBriefDiffs().stream()
+                .noneMatch(diff -> DiffEnum.DISORDER_ARRAY_NOT_FOUND_IN_EXCEPTED.getType().equals(diff.getType())));
+    }
+
+    @Test
+    public void testCompositeAndNestedUniqueKey() {
+        String actualJson = "{\"list\": [{\"account\": 1, \"meta\": {\"id\": \"a\"}, \"qty\": 10}, "
+                + "{\"account\": 2, \"meta\": {\"id\": \"a\"}, \"qty\": 20}, {\"account\": 1, \"qty\": 30}]}";
+        String expectedJson = "{\"list\": [{\"account\": 2, \"meta\": {\"id\": \"a\"}, \"qty\": 21}, "
+                + "{\"account\": 1, \"meta\": {\"id\": \"a\"}, \"qty\": 10}, {\"account\": 1, \"qty\": 30}]}";
+        BriefDiffResult result = compare(actualJson, expectedJson, "account, meta.id");
+        Assert.assertEquals(1, result.getBriefDiffs().size());
+        BriefDiffResult.BriefDiff diff = result.getBriefDiffs().get(0);
+        Assert.assertEquals("$.list[1].qty", diff.getDiffKey());
+        Assert.assertTrue(diff.getReason().startsWith("当前唯一键[account, meta.id][[2,\"a\"]]"));
+
+        // 只使用嵌套字段作为唯一键时, 前两个实际元素都会与第一个预期元素对比, 第二个预期元素在实际中不存在
+        Assert.assertEquals(4, compare(actualJson, expectedJson, "meta.id").getBriefDiffs().size());
+    }
+
+    @Test
+    public void testCompositeUniqueKeyInJsonSchema() {
+        String schema = "{\"type\": \"object\", \"properties\": {\"list\": {\"type\": \"array\", "
+                + "\"disorder\": [\"account\", \"meta.id\"], \"items\": {\"type\": \"object\"}}}}";
+        JsonCompareConfig config = JsonUtils.parseCustomizedJsonSchema(schema);
+        Assert.assertEquals("account,meta.id", config.getArrayWithDisorderUniqueKey("$.list"));
+    }
+
+    @Test
+    public void testMatchModeInJsonSchema() {
+        String schema = "{\"type\": \"object\", \"properties\": {\"list\": {\"type\": \"array\", "
+                + "\"disorder\": \"\", \"disorder_match_mode\": \"%s\", \"items\": {\"type\": \"object\"}}}}";
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            JsonCompareConfig config = JsonUtils.parseCustomizedJsonSchema(String.format(schema, "exact"));
+            Assert.assertEquals(DisorderMatchModeEnum.EXACT, config.getArrayWithDisorderPath().iterator().next().getMatchMode());
+        } finally {
+            Locale.setDefault(locale);
+        }
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class,
+                () -> JsonUtils.parseCustomizedJsonSchema(String.format(schema, "nearest")));
+        Assert.assertTrue(e.getMessage().contains("$.list") && e.getMessage().contains("nearest"));
+    }
+}
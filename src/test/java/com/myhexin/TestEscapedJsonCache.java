@@ -0,0 +1,122 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.EscapedJsonCache;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import com.myhexin.autotest.jsoncomparison.utils.LruCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestEscapedJsonCache {
+
+    @Test
+    public void testLruCache() {
+        LruCache<String, String> cache = new LruCache<>(6, (k, v) -> v.length());
+        cache.put("a", "aa");
+        cache.put("b", "bb");
+        Assert.assertEquals("aa", cache.get("a"));
+        cache.put("c", "cc");
+        cache.put("d", "dd");
+        // b最久未访问, 最先被淘汰
+        Assert.assertNull(cache.get("b"));
+        Assert.assertEquals("aa", cache.get("a"));
+        cache.put("e", "too long");
+        Assert.assertNull(cache.get("e"));
+
+        LruCache.Stats stats = cache.stats();
+        Assert.assertEquals(2, stats.getHitCount());
+        Assert.assertEquals(2, stats.getMissCount());
+        Assert.assertEquals(1, stats.getEvictionCount());
+        Assert.assertEquals(3, stats.getSize());
+        Assert.assertEquals(6, stats.getWeight());
+
+        cache.setMaxWeight(2);
+        Assert.assertEquals(1, cache.stats().getSize());
+        Assert.assertEquals("aa", cache.get("a"));
+    }
+
+    @Test
+    public void testRepeatedEscapedJson() {
+        ArrayNode actual = JsonNodeFactory.instance.arrayNode();
+        ArrayNode expected = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i < 100; i++) {
+            actual.addObject().put("id", i).put("conf", "{\"a\": 1, \"b\": [1, 2]}");
+            expected.addObject().put("id", i).put("conf", i % 2 == 0 ? "{\"b\": [1, 2], \"a\": 1}" : "{\"a\": 2, \"b\": [1, 2]}");
+        }
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.EscapedJson escapedJson = new JsonCompareConfig.EscapedJson();
+        escapedJson.setPath("$[*].conf");
+        config.getEscapedJsonPath().add(escapedJson);
+
+        EscapedJsonCache cache = EscapedJsonCache.shared();
+        cache.clear();
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        BriefDiffResult result = JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+        Assert.assertEquals(50, result.getDiffNum().intValue());
+        BriefDiffResult.BriefDiff diff = result.getBriefDiffs().get(0);
+        Assert.assertEquals("$[1].conf", diff.getDiffKey());
+        Assert.assertEquals("$.a", diff.getSubDiffs().get(0).getDiffKey());
+
+        // 只有两种不同的转义Json组合, 每种只需要解析以及对比一次
+        Assert.assertEquals(98, cache.getOutcomeStats().getHitCount());
+        Assert.assertEquals(2, cache.getOutcomeStats().getMissCount());
+        Assert.assertEquals(3, cache.getParsedStats().getSize());
+
+        // 命中缓存时得到的是差异的副本, 修改其中一个不会影响其他结果
+        BriefDiffResult.BriefDiff subDiff = diff.getSubDiffs().get(0);
+        BriefDiffResult.BriefDiff other = result.getBriefDiffs().get(1).getSubDiffs().get(0);
+        Assert.assertNotSame(subDiff, other);
+        String reason = other.getReason();
+        subDiff.setReason("changed");
+        Assert.assertEquals(reason, other.getReason());
+    }
+
+    @Test
+    public void testChildJsonNotShared() {
+        JsonNode actual = JsonUtils.getJsonNode("{\"s\": \"{\\\"a\\\": 1, \\\"b\\\": {\\\"c\\\": 1}}\"}");
+        JsonNode expected = JsonUtils.getJsonNode("{\"s\": \"{\\\"a\\\": 2}\"}");
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.EscapedJson escapedJson = new JsonCompareConfig.EscapedJson();
+        escapedJson.setPath("$.s");
+        config.getEscapedJsonPath().add(escapedJson);
+        EscapedJsonCache.shared().clear();
+
+        BriefDiffResult first = compareEscaped(actual, expected, config);
+        String before = first.getChildActualJson().toString();
+        BriefDiffResult second = compareEscaped(actual, expected, config);
+        Assert.assertNotSame(first.getChildActualJson().get("s"), second.getChildActualJson().get("s"));
+
+        ((ObjectNode) first.getChildActualJson().get("s")).put("poison", true);
+        ((ObjectNode) first.getChildActualJson().get("s").get("b")).put("poison", true);
+        ((ObjectNode) first.getChildExpectedJson().get("s")).put("poison", true);
+        Assert.assertEquals(before, second.getChildActualJson().toString());
+        BriefDiffResult fresh = compareEscaped(actual, expected, config);
+        Assert.assertEquals(before, fresh.getChildActualJson().toString());
+        Assert.assertFalse(fresh.getChildExpectedJson().toString().contains("poison"));
+        Assert.assertEquals(2, EscapedJsonCache.shared().getOutcomeStats().getHitCount());
+    }
+
+    private static BriefDiffResult compareEscaped(JsonNode actual, JsonNode expected, JsonCompareConfig config) {
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+}
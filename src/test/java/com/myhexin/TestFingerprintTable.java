@@ -0,0 +1,70 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestFingerprintTable {
+
+    private final PathRules rules;
+
+    public TestFingerprintTable() {
+        JsonCompareConfig config = new JsonCompareConfig();
+        config.getIgnorePath().add("$.ts");
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.list");
+        config.getArrayWithDisorderPath().add(disorder);
+        rules = config.compile().getRoot();
+    }
+
+    private long fingerprint(String json) {
+        return new FingerprintTable().of(JsonUtils.getJsonNode(json), rules);
+    }
+
+    @Test
+    public void testEqualUnderRules() {
+        Assert.assertEquals(
+                fingerprint("{\"ts\": 1, \"list\": [1, 2, 3], \"v\": 1, \"o\": [1, 2]}"),
+                fingerprint("{\"o\": [1, 2], \"v\": 1.00, \"list\": [3, 1, 2], \"ts\": \"x\"}")
+        );
+    }
+
+    @Test
+    public void testNotEqual() {
+        long origin = fingerprint("{\"list\": [1, 2], \"o\": [1, 2], \"v\": \"1\"}");
+        Assert.assertNotEquals(origin, fingerprint("{\"list\": [1, 2], \"o\": [2, 1], \"v\": \"1\"}"));
+        Assert.assertNotEquals(origin, fingerprint("{\"list\": [1, 2], \"o\": [1, 2], \"v\": 1}"));
+        Assert.assertNotEquals(origin, fingerprint("{\"list\": [1, 2, 2], \"o\": [1, 2], \"v\": \"1\"}"));
+        Assert.assertNotEquals(origin, fingerprint("{\"list\": [1, 2], \"o\": [1, 2], \"w\": \"1\"}"));
+    }
+
+    @Test
+    public void testComputedOncePerNode() {
+        FingerprintTable table = new FingerprintTable();
+        JsonNode node = JsonUtils.getJsonNode("{\"a\": {\"b\": [\"x\", \"y\"]}, \"c\": \"z\"}");
+        long fingerprint = table.of(node, rules);
+        int size = table.size();
+        // 只记录容器节点
+        Assert.assertEquals(3, size);
+        Assert.assertEquals(fingerprint, table.of(node, rules));
+        table.of(node.get("a").get("b"), PathRules.EMPTY.field("a").field("b"));
+        Assert.assertEquals(size, table.size());
+    }
+
+    @Test
+    public void testMaxContainerSize() {
+        FingerprintTable table = new FingerprintTable(3);
+        JsonNode node = JsonUtils.getJsonNode("{\"a\": {\"b\": [1, 2, 3]}, \"c\": [1, 2]}");
+        Assert.assertEquals(FingerprintTable.UNKNOWN, table.of(node, rules));
+        Assert.assertEquals(FingerprintTable.UNKNOWN, table.of(node.get("a"), PathRules.EMPTY));
+        Assert.assertNotEquals(FingerprintTable.UNKNOWN, table.of(node.get("c"), PathRules.EMPTY));
+    }
+}
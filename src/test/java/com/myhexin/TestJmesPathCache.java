@@ -0,0 +1,45 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import com.myhexin.autotest.jsoncomparison.utils.LruCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestJmesPathCache {
+
+    private static final String JSON = "{\"data\": {\"list\": [{\"id\": 1, \"name\": \"a\"}, {\"id\": 2, \"name\": \"b\"}]}}";
+
+    @Test
+    public void testCompileOnce() {
+        LruCache<String, ?> cache = JsonUtils.getJmesPathCache();
+        cache.clear();
+        for (int i = 0; i < 10; i++) {
+            Assert.assertEquals("b", JsonUtils.getJsonNodeByJmesPath(JSON, "data.list[1].name").asText());
+        }
+        Assert.assertSame(JsonUtils.compileJmesPath("data.list[*].id"), JsonUtils.compileJmesPath("data.list[*].id"));
+        LruCache.Stats stats = cache.stats();
+        Assert.assertEquals(2, stats.getSize());
+        Assert.assertEquals(2, stats.getMissCount());
+        Assert.assertEquals(10, stats.getHitCount());
+    }
+
+    @Test
+    public void testMultipleExpressions() {
+        JsonNode json = JsonUtils.getJsonNode(JSON);
+        Map<String, JsonNode> values = JsonUtils.getJsonNodesByJmesPath(
+                json, Arrays.asList("data.list[0].id", "data.list[*].name", "data.missing")
+        );
+        Assert.assertEquals("[data.list[0].id, data.list[*].name, data.missing]", values.keySet().toString());
+        Assert.assertEquals(1, values.get("data.list[0].id").asInt());
+        Assert.assertEquals("[\"a\",\"b\"]", values.get("data.list[*].name").toString());
+        Assert.assertTrue(values.get("data.missing").isNull());
+    }
+}
@@ -0,0 +1,50 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import com.myhexin.autotest.jsoncomparison.utils.LruCache;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestJsonSchemaCache {
+
+    private static final String SCHEMA = "{\"type\": \"object\", \"properties\": {\"id\": {\"type\": \"integer\"}}, "
+            + "\"required\": [\"id\"]}";
+
+    @Test
+    public void testCompileOnce() {
+        LruCache<String, ?> cache = JsonUtils.getJsonSchemaCache();
+        cache.clear();
+        Assert.assertTrue(JsonUtils.verifyJsonByJsonSchema("{\"id\": 1}", SCHEMA));
+        Assert.assertFalse(JsonUtils.verifyJsonByJsonSchema("{\"id\": \"1\"}", SCHEMA));
+        Assert.assertTrue(JsonUtils.verifyJsonByJsonSchema(JsonUtils.getJsonNode("{\"id\": 2}"), SCHEMA));
+        Assert.assertSame(JsonUtils.getStandardJsonSchema(SCHEMA).get(), JsonUtils.getStandardJsonSchema(SCHEMA).get());
+        Assert.assertEquals(1, cache.stats().getSize());
+        Assert.assertEquals(1, cache.stats().getMissCount());
+        // 不合法的JsonSchema同样只解析一次
+        Assert.assertFalse(JsonUtils.verifyJsonByJsonSchema("{}", "{\"type\": \"object\"}"));
+        Assert.assertFalse(JsonUtils.verifyJsonByJsonSchema("{}", "{\"type\": \"object\"}"));
+        Assert.assertEquals(2, cache.stats().getMissCount());
+    }
+
+    @Test
+    public void testVerifyJsons() {
+        List<JsonNode> jsons = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            jsons.add(JsonUtils.getJsonNode(i % 3 == 0 ? "{\"name\": \"a\"}" : "{\"id\": " + i + "}"));
+        }
+        List<Boolean> results = JsonUtils.verifyJsonsByJsonSchema(jsons, SCHEMA);
+        Assert.assertEquals(jsons.size(), results.size());
+        for (int i = 0; i < results.size(); i++) {
+            Assert.assertEquals(i % 3 != 0, results.get(i));
+        }
+        Assert.assertFalse(JsonUtils.verifyJsonsByJsonSchema(jsons, "{}").contains(Boolean.TRUE));
+    }
+}
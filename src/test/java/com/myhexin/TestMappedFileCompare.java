@@ -0,0 +1,74 @@
+package com.myhexin;
+
+import com.myhexin.autotest.jsoncomparison.compare.stream.StreamingJsonComparator;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import com.myhexin.autotest.jsoncomparison.utils.MappedFileInputStream;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestMappedFileCompare {
+
+    private static final String ACTUAL = "{\"id\": 1, \"list\": [1, 2, 3], \"name\": \"中文\", \"o\": {\"a\": true}}";
+
+    private static final String EXPECTED = "{\"id\": 1, \"list\": [1, 2, 4], \"name\": \"中文\", \"o\": {\"a\": false}}";
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path write(String content) throws IOException {
+        Path path = folder.newFile().toPath();
+        Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+        return path;
+    }
+
+    @Test
+    public void testReadAcrossWindows() throws IOException {
+        Path path = write(ACTUAL);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (InputStream in = new MappedFileInputStream(path, 7)) {
+            byte[] bytes = new byte[5];
+            int length;
+            while ((length = in.read(bytes)) != -1) {
+                out.write(bytes, 0, length);
+            }
+        }
+        Assert.assertEquals(ACTUAL, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        Assert.assertEquals(JsonUtils.getJsonNode(ACTUAL), JsonUtils.readTree(path));
+    }
+
+    @Test
+    public void testCompareFiles() throws IOException {
+        StreamingJsonComparator comparator = new StreamingJsonComparator(new JsonCompareConfig());
+        BriefDiffResult result = comparator.compare(write(ACTUAL), write(EXPECTED));
+        Assert.assertEquals(2, result.getDiffNum().intValue());
+    }
+
+    @Test
+    public void testCompareBuffers() throws IOException {
+        StreamingJsonComparator comparator = new StreamingJsonComparator(new JsonCompareConfig());
+        byte[] expected = EXPECTED.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(expected.length);
+        direct.put(expected).flip();
+        ByteBuffer heap = ByteBuffer.wrap(ACTUAL.getBytes(StandardCharsets.UTF_8));
+        Assert.assertEquals(2, comparator.compare(heap, direct).getDiffNum().intValue());
+        // 读取时不会修改缓冲区的position
+        Assert.assertEquals(0, direct.position());
+        Assert.assertEquals(2, comparator.compare(heap, direct).getDiffNum().intValue());
+    }
+}
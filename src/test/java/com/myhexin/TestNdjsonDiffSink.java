@@ -0,0 +1,68 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.sink.NdjsonDiffSink;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestNdjsonDiffSink {
+
+    private static final String ACTUAL = "{\"a\": 1, \"b\": [1, 2, 3], \"c\": {\"d\": \"x\\ny\"}, \"f\": 1}";
+
+    private static final String EXPECTED = "{\"a\": 2, \"b\": [1, 5], \"c\": {\"d\": \"y\"}, \"g\": 1}";
+
+    private CompareParams<JsonNode> params(JsonNode actual) {
+        return CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(JsonUtils.getJsonNode(EXPECTED))
+                .config(new JsonCompareConfig())
+                .build();
+    }
+
+    @Test
+    public void testWriteLines() throws IOException {
+        JsonNode actual = JsonUtils.getJsonNode(ACTUAL);
+        JsonComparatorFactory factory = JsonComparatorFactory.build();
+        BriefDiffResult expected = factory.executeContrast(actual.getNodeType(), params(actual));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BriefDiffResult result;
+        try (NdjsonDiffSink sink = new NdjsonDiffSink(out)) {
+            result = factory.executeContrast(actual.getNodeType(), params(actual), sink);
+            Assert.assertEquals(result.getDiffNum().intValue(), sink.getDiffNum());
+        }
+        Assert.assertEquals(expected.getDiffNum(), result.getDiffNum());
+
+        String[] lines = new String(out.toByteArray(), StandardCharsets.UTF_8).split("\n");
+        Assert.assertEquals(expected.getBriefDiffs().size(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            Assert.assertEquals(JsonUtils.toJsonString(expected.getBriefDiffs().get(i)), lines[i]);
+        }
+    }
+
+    @Test
+    public void testChannel() throws IOException {
+        JsonNode actual = JsonUtils.getJsonNode(ACTUAL);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (NdjsonDiffSink sink = new NdjsonDiffSink(Channels.newChannel(out))) {
+            JsonComparatorFactory.build().executeContrast(actual.getNodeType(), params(actual), sink);
+            sink.flush();
+            Assert.assertTrue(out.size() > 0);
+            Assert.assertEquals('\n', out.toByteArray()[out.size() - 1]);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.NumericComparator;
+import com.myhexin.autotest.jsoncomparison.compare.enums.TolerantModeEnum;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.fingerprint.FingerprintTable;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import com.myhexin.autotest.jsoncomparison.config.Tolerance;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Locale;
+import java.util.Random;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestNumericComparator {
+
+    private static final JsonNodeFactory FACTORY = JsonNodeFactory.instance;
+
+    private static final String[] TOLERANCES = {"0", "1", "0.001", "0.1", "1E-10", "100", "-1", "0.5"};
+
+    @Test
+    public void testSameAsBigDecimal() {
+        Random random = new Random(42);
+        FingerprintTable fingerprints = new FingerprintTable();
+        for (int i = 0; i < 200000; i++) {
+            JsonNode actual = randomNumber(random);
+            JsonNode expected = random.nextInt(4) == 0 ? actual : nearby(random, actual);
+            BigDecimal a = new BigDecimal(actual.asText());
+            BigDecimal b = new BigDecimal(expected.asText());
+            String message = actual + " vs " + expected;
+            Assert.assertEquals(message, a.compareTo(b) == 0, NumericComparator.isEqual(actual, expected));
+            // 相等的数值指纹一定相同
+            if (a.compareTo(b) == 0) {
+                Assert.assertEquals(message, fingerprints.of(actual, PathRules.EMPTY),
+                        fingerprints.of(expected, PathRules.EMPTY));
+            }
+
+            String tolerant = TOLERANCES[random.nextInt(TOLERANCES.length)];
+            BigDecimal t = new BigDecimal(tolerant);
+            boolean within = a.add(t).compareTo(b) >= 0 && a.subtract(t).compareTo(b) <= 0;
+            Assert.assertEquals(message + " ± " + tolerant, within,
+                    NumericComparator.isWithin(actual, expected, Tolerance.parse(tolerant)));
+        }
+    }
+
+    @Test
+    public void testMixedTypes() {
+        Assert.assertTrue(NumericComparator.isEqual(FACTORY.numberNode(1), FACTORY.numberNode(1.0)));
+        Assert.assertTrue(NumericComparator.isEqual(FACTORY.numberNode(0.1F), FACTORY.numberNode(new BigDecimal("0.1"))));
+        Assert.assertFalse(NumericComparator.isEqual(FACTORY.numberNode(0.1F), FACTORY.numberNode(0.1D + 1E-17)));
+        Assert.assertTrue(NumericComparator.isEqual(FACTORY.numberNode(-0.0), FACTORY.numberNode(0)));
+        Assert.assertTrue(NumericComparator.isEqual(
+                FACTORY.numberNode(Long.MAX_VALUE), FACTORY.numberNode(BigInteger.valueOf(Long.MAX_VALUE))
+        ));
+        Assert.assertFalse(NumericComparator.isWithin(
+                FACTORY.numberNode(Long.MIN_VALUE), FACTORY.numberNode(Long.MAX_VALUE), Tolerance.parse("1")
+        ));
+    }
+
+    @Test
+    public void testToleranceModes() {
+        Assert.assertEquals(TolerantModeEnum.RELATIVE, Tolerance.parse("1%").getMode());
+        Assert.assertEquals(TolerantModeEnum.ULP, Tolerance.parse("4 ULP").getMode());
+        Assert.assertEquals("0.001", Tolerance.parse("0.001").toString());
+        Assert.assertThrows(NumberFormatException.class, () -> Tolerance.parse("1.5ulp"));
+
+        Tolerance relative = Tolerance.parse("1%");
+        Assert.assertTrue(NumericComparator.isWithin(FACTORY.numberNode(1000), FACTORY.numberNode(1010.0), relative));
+        Assert.assertFalse(NumericComparator.isWithin(FACTORY.numberNode(1000), FACTORY.numberNode(1011), relative));
+        Assert.assertTrue(NumericComparator.isWithin(FACTORY.numberNode(0.001), FACTORY.numberNode(0.00101), relative));
+
+        Tolerance ulp = Tolerance.parse("2ulp");
+        double value = 0.1 + 0.2;
+        Assert.assertTrue(NumericComparator.isWithin(FACTORY.numberNode(0.3), FACTORY.numberNode(value), ulp));
+        Assert.assertTrue(NumericComparator.isWithinUlps(-Double.MIN_VALUE, Double.MIN_VALUE, 2));
+        Assert.assertFalse(NumericComparator.isWithinUlps(-Double.MIN_VALUE, Double.MIN_VALUE, 1));
+        Assert.assertFalse(NumericComparator.isWithinUlps(-Double.MAX_VALUE, Double.MAX_VALUE, Long.MAX_VALUE));
+        Assert.assertFalse(NumericComparator.isWithinUlps(Double.NaN, Double.NaN, 0));
+    }
+
+    @Test
+    public void testAllowTolerantInJsonSchema() {
+        String schema = "{\"type\": \"object\", \"properties\": {"
+                + "\"price\": {\"type\": \"number\", \"allow_tolerant\": \"1%\"}, "
+                + "\"ratio\": {\"type\": \"number\", \"allow_tolerant\": {\"mode\": \"ulp\", \"value\": 4}}}}";
+        JsonCompareConfig config = JsonUtils.parseCustomizedJsonSchema(schema);
+        Assert.assertEquals("1%", config.getTolerantConfig("$.price").getTolerant());
+        Assert.assertEquals("4ulp", config.getTolerantConfig("$.ratio").getTolerant());
+
+        JsonNode actual = JsonUtils.getJsonNode("{\"price\": 200, \"ratio\": 0.30000000000000004}");
+        JsonNode expected = JsonUtils.getJsonNode("{\"price\": 201.5, \"ratio\": 0.3}");
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        Assert.assertEquals(0, JsonComparatorFactory.build().execute(actual.getNodeType(), params).getDiffNum().intValue());
+    }
+
+    @Test
+    public void testInvalidAllowTolerantInJsonSchema() {
+        Locale locale = Locale.getDefault();
+        Locale.setDefault(new Locale("tr", "TR"));
+        try {
+            String schema = "{\"type\": \"object\", \"properties\": {"
+                    + "\"ratio\": {\"type\": \"number\", \"allow_tolerant\": {\"mode\": \"relative\", \"value\": 1}}}}";
+            Assert.assertEquals("1%", JsonUtils.parseCustomizedJsonSchema(schema).getTolerantConfig("$.ratio").getTolerant());
+        } finally {
+            Locale.setDefault(locale);
+        }
+        String unknownMode = "{\"type\": \"object\", \"properties\": {"
+                + "\"ratio\": {\"type\": \"number\", \"allow_tolerant\": {\"mode\": \"percent\", \"value\": 1}}}}";
+        IllegalArgumentException e = Assert.assertThrows(IllegalArgumentException.class,
+                () -> JsonUtils.parseCustomizedJsonSchema(unknownMode));
+        Assert.assertTrue(e.getMessage().contains("$.ratio") && e.getMessage().contains("percent"));
+        String missingValue = "{\"type\": \"object\", \"properties\": {"
+                + "\"ratio\": {\"type\": \"number\", \"allow_tolerant\": {\"mode\": \"ulp\"}}}}";
+        e = Assert.assertThrows(IllegalArgumentException.class, () -> JsonUtils.parseCustomizedJsonSchema(missingValue));
+        Assert.assertTrue(e.getMessage().contains("$.ratio"));
+    }
+
+    private static JsonNode randomNumber(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return FACTORY.numberNode(random.nextInt(2000) - 1000);
+            case 1:
+                return FACTORY.numberNode(random.nextLong());
+            case 2:
+                return FACTORY.numberNode(random.nextInt(10000000) / 1000.0);
+            case 3:
+                return FACTORY.numberNode((random.nextDouble() - 0.5) * Math.pow(10, random.nextInt(40) - 20));
+            case 4:
+                return FACTORY.numberNode(new BigDecimal(random.nextInt(100000)).movePointLeft(random.nextInt(6)));
+            default:
+                return FACTORY.numberNode(random.nextFloat() * 100);
+        }
+    }
+
+    private static JsonNode nearby(Random random, JsonNode node) {
+        BigDecimal value = new BigDecimal(node.asText());
+        switch (random.nextInt(5)) {
+            case 0:
+                return FACTORY.numberNode(value.doubleValue() + random.nextInt(3) - 1);
+            case 1:
+                return FACTORY.numberNode(Math.nextUp(value.doubleValue()));
+            case 2:
+                return FACTORY.numberNode(value.add(new BigDecimal("0.001")).doubleValue());
+            case 3:
+                return FACTORY.numberNode(value.setScale(Math.max(value.scale(), 0) + 2));
+            default:
+                return value.scale() <= 0 && value.abs().compareTo(BigDecimal.valueOf(Long.MAX_VALUE - 1)) < 0
+                        ? FACTORY.numberNode(value.longValue() + random.nextInt(3) - 1)
+                        : FACTORY.numberNode(value.doubleValue());
+        }
+    }
+}
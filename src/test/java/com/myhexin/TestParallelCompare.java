@@ -0,0 +1,89 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestParallelCompare {
+
+    private BriefDiffResult compare(JsonNode actual, JsonNode expected, boolean parallel) {
+        JsonCompareConfig config = new JsonCompareConfig();
+        config.getIgnorePath().add("$.rows[*].ts");
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.tags");
+        config.getArrayWithDisorderPath().add(disorder);
+        JsonCompareConfig.FieldMapping mapping = new JsonCompareConfig.FieldMapping();
+        mapping.setPath("$.fields.f1");
+        mapping.setMappingKey("f1_new");
+        config.getFieldMappings().add(mapping);
+        if (parallel) {
+            JsonCompareConfig.ParallelConfig parallelConfig = new JsonCompareConfig.ParallelConfig();
+            parallelConfig.setEnabled(true);
+            parallelConfig.setThreshold(16);
+            config.setParallel(parallelConfig);
+        }
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    @Test
+    public void testSameAsSequential() {
+        Random random = new Random(7);
+        ObjectNode actual = JsonNodeFactory.instance.objectNode();
+        ArrayNode rows = actual.putArray("rows");
+        for (int i = 0; i < 2000; i++) {
+            ObjectNode row = rows.addObject();
+            row.put("id", i);
+            row.put("ts", random.nextLong());
+            row.put("price", random.nextInt(10000) / 100.0);
+            row.putArray("values").add(random.nextInt(5)).add(random.nextInt(5));
+        }
+        ObjectNode fields = actual.putObject("fields");
+        for (int i = 0; i < 200; i++) {
+            fields.put("f" + i, "v" + random.nextInt(3));
+        }
+        ArrayNode tags = actual.putArray("tags");
+        for (int i = 0; i < 50; i++) {
+            tags.add("t" + i);
+        }
+
+        ObjectNode expected = actual.deepCopy();
+        ObjectNode expectedFields = (ObjectNode) expected.get("fields");
+        expectedFields.set("f1_new", expectedFields.remove("f1"));
+        for (int i = 0; i < 2000; i += 37) {
+            ObjectNode row = (ObjectNode) expected.get("rows").get(i);
+            row.put("ts", 0L);
+            row.put("price", -1);
+            ((ArrayNode) row.get("values")).add(9);
+        }
+        for (int i = 0; i < 200; i += 11) {
+            expectedFields.put("f" + i, "x");
+        }
+        expectedFields.put("only_in_expected", 1);
+        ((ArrayNode) expected.get("tags")).remove(3);
+        ((ArrayNode) expected.get("tags")).add("t99");
+
+        BriefDiffResult sequential = compare(actual, expected, false);
+        BriefDiffResult parallel = compare(actual, expected, true);
+        Assert.assertFalse(sequential.getBriefDiffs().isEmpty());
+        Assert.assertEquals(JsonUtils.toJsonString(sequential), JsonUtils.toJsonString(parallel));
+    }
+}
@@ -0,0 +1,59 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.PathStack;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.stream.Collectors;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestPathStack {
+
+    @Test
+    public void testPushAndPop() {
+        PathStack path = new PathStack("$");
+        path.push("data").push(1).push("name");
+        Assert.assertEquals("$.data[1].name", path.toString());
+        PathStack copy = path.copy();
+        path.pop();
+        path.pop();
+        Assert.assertEquals("$.data", path.toString());
+        Assert.assertEquals("$.data[1].name", copy.toString());
+        for (int i = 0; i < 40; i++) {
+            copy.push(i);
+        }
+        Assert.assertEquals(43, copy.depth());
+    }
+
+    @Test
+    public void testDiffKey() {
+        String actual = "{\"a\": {\"b\": [1, {\"c\": 1}]}, \"d\": [{\"id\": 1, \"v\": 1}], \"e\": 1}";
+        String expected = "{\"a\": {\"b\": [2, {\"c\": 2}]}, \"d\": [{\"id\": 1, \"v\": 2}], \"f\": 1}";
+        JsonCompareConfig config = new JsonCompareConfig();
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.d");
+        disorder.setUniqueKey("id");
+        config.getArrayWithDisorderPath().add(disorder);
+        JsonNode actualNode = JsonUtils.getJsonNode(actual);
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actualNode)
+                .expected(JsonUtils.getJsonNode(expected))
+                .config(config)
+                .build();
+        BriefDiffResult result = JsonComparatorFactory.build().execute(actualNode.getNodeType(), params);
+        Assert.assertEquals(
+                "[$.a.b[0], $.a.b[1].c, $.d[0].v, $.e, $.f]",
+                result.getBriefDiffs().stream().map(BriefDiffResult.BriefDiff::getDiffKey).sorted()
+                        .collect(Collectors.toList()).toString()
+        );
+    }
+}
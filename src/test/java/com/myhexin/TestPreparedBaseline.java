@@ -0,0 +1,119 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.PreparedBaseline;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestPreparedBaseline {
+
+    private static JsonCompareConfig config() {
+        JsonCompareConfig config = new JsonCompareConfig();
+        config.getIgnorePath().add("$.ts");
+        JsonCompareConfig.ArrayWithDisorderConfig byId = new JsonCompareConfig.ArrayWithDisorderConfig();
+        byId.setPath("$.orders");
+        byId.setUniqueKey("id");
+        config.getArrayWithDisorderPath().add(byId);
+        JsonCompareConfig.ArrayWithDisorderConfig tags = new JsonCompareConfig.ArrayWithDisorderConfig();
+        tags.setPath("$.tags");
+        config.getArrayWithDisorderPath().add(tags);
+        return config;
+    }
+
+    private static ObjectNode build(int size, int seed) {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.put("ts", seed);
+        ArrayNode orders = root.putArray("orders");
+        ArrayNode tags = root.putArray("tags");
+        for (int i = 0; i < size; i++) {
+            int id = (i * 7 + seed) % size;
+            orders.addObject().put("id", id).put("price", id % 13 == seed % 13 ? id + 1 : id);
+            tags.addObject().put("name", "tag" + (size - i)).put("weight", i % 5);
+        }
+        root.putObject("summary").put("count", size).put("seed", seed % 3);
+        return root;
+    }
+
+    private static BriefDiffResult compare(JsonNode actual, JsonNode expected, JsonCompareConfig config) {
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().executeContrast(actual.getNodeType(), params);
+    }
+
+    private static void assertSameResult(BriefDiffResult expected, BriefDiffResult actual) {
+        Assert.assertEquals(expected.getDiffNum(), actual.getDiffNum());
+        for (int i = 0; i < expected.getBriefDiffs().size(); i++) {
+            BriefDiffResult.BriefDiff expectedDiff = expected.getBriefDiffs().get(i);
+            BriefDiffResult.BriefDiff actualDiff = actual.getBriefDiffs().get(i);
+            Assert.assertEquals(expectedDiff.getType(), actualDiff.getType());
+            Assert.assertEquals(expectedDiff.getDiffKey(), actualDiff.getDiffKey());
+            Assert.assertEquals(expectedDiff.getReason(), actualDiff.getReason());
+        }
+    }
+
+    @Test
+    public void testSameResultAsExecute() {
+        JsonCompareConfig config = config();
+        ObjectNode expected = build(200, 0);
+        PreparedBaseline baseline = PreparedBaseline.prepare(expected, config);
+        for (int seed = 0; seed < 5; seed++) {
+            ObjectNode actual = build(200, seed);
+            BriefDiffResult result = baseline.compare(actual);
+            assertSameResult(compare(actual, expected, config), result);
+        }
+        // 完全一致时没有差异
+        Assert.assertEquals(0, baseline.compare(build(200, 0)).getDiffNum().intValue());
+    }
+
+    @Test
+    public void testConcurrentCompare() throws Exception {
+        JsonCompareConfig config = config();
+        JsonCompareConfig.ParallelConfig parallel = new JsonCompareConfig.ParallelConfig();
+        parallel.setEnabled(true);
+        parallel.setThreshold(64);
+        config.setParallel(parallel);
+        ObjectNode expected = build(500, 0);
+        PreparedBaseline baseline = PreparedBaseline.prepare(expected, config);
+        List<ObjectNode> actuals = new ArrayList<>();
+        List<BriefDiffResult> results = new ArrayList<>();
+        for (int seed = 0; seed < 16; seed++) {
+            ObjectNode actual = build(500, seed);
+            actuals.add(actual);
+            results.add(compare(actual, expected, config));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<BriefDiffResult>> futures = new ArrayList<>();
+            for (int round = 0; round < 4; round++) {
+                for (ObjectNode actual : actuals) {
+                    futures.add(executor.submit(() -> baseline.compare(actual)));
+                }
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                assertSameResult(results.get(i % actuals.size()), futures.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.myhexin;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.enums.DiffEnum;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.stream.StreamingJsonComparator;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public class TestStreamingJsonCompare {
+
+    private final JsonCompareConfig config;
+
+    public TestStreamingJsonCompare() {
+        config = new JsonCompareConfig();
+        config.getIgnorePath().add("$.ts");
+        JsonCompareConfig.TolerantConfig tolerant = new JsonCompareConfig.TolerantConfig();
+        tolerant.setPath("$.items[*].price");
+        tolerant.setTolerant("0.01");
+        config.getTolerantPath().add(tolerant);
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.tags");
+        config.getArrayWithDisorderPath().add(disorder);
+        JsonCompareConfig.FieldMapping mapping = new JsonCompareConfig.FieldMapping();
+        mapping.setPath("$.meta.name");
+        mapping.setMappingKey("title");
+        config.getFieldMappings().add(mapping);
+        config.getArrayWithAlignmentPath().add("$.aligned");
+    }
+
+    private List<String> streaming(String actual, String expected) throws IOException {
+        BriefDiffResult result = new StreamingJsonComparator(config).compare(
+                new ByteArrayInputStream(actual.getBytes(StandardCharsets.UTF_8)),
+                new ByteArrayInputStream(expected.getBytes(StandardCharsets.UTF_8))
+        );
+        Assert.assertEquals(result.getBriefDiffs().size(), result.getDiffNum().intValue());
+        return toStrings(result);
+    }
+
+    private List<String> tree(String actual, String expected) {
+        JsonNode actualNode = JsonUtils.getJsonNode(actual);
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actualNode)
+                .expected(JsonUtils.getJsonNode(expected))
+                .config(config)
+                .build();
+        return toStrings(JsonComparatorFactory.build().execute(actualNode.getNodeType(), params));
+    }
+
+    private List<String> toStrings(BriefDiffResult result) {
+        List<String> diffs = new ArrayList<>();
+        result.getBriefDiffs().forEach(diff -> diffs.add(JsonUtils.toJsonString(diff)));
+        return diffs;
+    }
+
+    @Test
+    public void testSameAsTree() throws IOException {
+        String actual = "{\"ts\": 1, \"id\": 7, \"items\": [{\"price\": 1.001, \"n\": \"a\"}, {\"price\": 2, \"n\": \"b\"}], "
+                + "\"tags\": [1, 2, 3], \"meta\": {\"name\": \"x\", \"v\": [1, {\"a\": null}]}, \"extra\": {\"k\": 1}}";
+        String expected = "{\"ts\": 2, \"id\": \"7\", \"items\": [{\"price\": 1, \"n\": \"a\"}, {\"price\": 2.5, \"n\": \"c\"}], "
+                + "\"tags\": [3, 1, 4], \"meta\": {\"title\": \"x\", \"v\": [1, {\"a\": 1}]}, \"missing\": [1]}";
+        Assert.assertEquals(tree(actual, expected), streaming(actual, expected));
+    }
+
+    @Test
+    public void testFieldOrder() throws IOException {
+        String actual = "{\"a\": 1, \"b\": {\"c\": [1, 2]}, \"d\": \"x\", \"e\": 1}";
+        String expected = "{\"f\": 2, \"d\": \"y\", \"b\": {\"c\": [1, 3]}, \"a\": 1}";
+        Assert.assertEquals(tree(actual, expected), streaming(actual, expected));
+    }
+
+    @Test
+    public void testArrayLength() throws IOException {
+        String actual = "{\"list\": [1, 2, 3, [4]]}";
+        String expected = "{\"list\": [1, 5]}";
+        List<String> streaming = streaming(actual, expected);
+        List<String> tree = tree(actual, expected);
+        // 长度不一致的差异在数组结束时才输出
+        Assert.assertTrue(streaming.get(streaming.size() - 1).contains(
+                "\"type\":" + DiffEnum.LIST_LENGTH_NOT_EQUALS.getType()));
+        Collections.sort(streaming);
+        Collections.sort(tree);
+        Assert.assertEquals(tree, streaming);
+    }
+
+    @Test
+    public void testAlignedArray() throws IOException {
+        String actual = "{\"aligned\": [0, 1, 2, 3, 4, 5, 6, 7]}";
+        String expected = "{\"aligned\": [1, 2, 3, 4, 5, 6, 7]}";
+        List<String> streaming = streaming(actual, expected);
+        Assert.assertEquals(2, streaming.size());
+        Assert.assertEquals(tree(actual, expected), streaming);
+    }
+}
@@ -0,0 +1,68 @@
+package com.myhexin.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 单次对比的内存分配量, 关注GC profiler输出的gc.alloc.rate.norm(bytes/op)
+ * <p>
+ * 数据集中绝大多数子树都是一致的, 分配量主要来自于对一致子树的递归, 通过 mvn -Pjmh test -Djmh.include=AllocationBenchmark 运行
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AllocationBenchmark {
+
+    @Param({"WIDE_OBJECT", "DEEP_NESTING", "ORDERED_ARRAY", "DISORDER_ARRAY_UNIQUE_KEY"})
+    private BenchmarkDataset dataset;
+
+    @Param({"10000"})
+    private int size;
+
+    private JsonNode actual;
+
+    private JsonNode expected;
+
+    private JsonCompareConfig config;
+
+    @Setup
+    public void setup() {
+        BenchmarkDataset.Dataset data = dataset.create(size);
+        actual = data.getActual();
+        expected = data.getExpected();
+        config = data.getConfig();
+    }
+
+    @Benchmark
+    public BriefDiffResult compare() {
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().executeContrast(actual.getNodeType(), params);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,267 @@
+package com.myhexin.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import lombok.Getter;
+
+import java.util.Random;
+
+/**
+ * 基准测试所使用的数据集, 每个数据集使用固定的随机种子生成, 不同版本之间的结果可以直接对比
+ * <p>
+ * 预期Json由实际Json复制而来, 再按照固定的间隔注入少量差异
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+public enum BenchmarkDataset {
+
+    /**
+     * 字段数很多的对象
+     */
+    WIDE_OBJECT {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            ObjectNode root = JsonNodeFactory.instance.objectNode();
+            for (int i = 0; i < size; i++) {
+                root.put("field_" + i, randomText(random));
+            }
+            ObjectNode expected = root.deepCopy();
+            for (int i = 0; i < size; i += DIFF_INTERVAL) {
+                expected.put("field_" + i, "changed");
+            }
+            dataset.set(root, expected);
+        }
+    },
+
+    /**
+     * 嵌套层级很深的对象与数组
+     */
+    DEEP_NESTING {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            ObjectNode root = JsonNodeFactory.instance.objectNode();
+            int branches = Math.max(1, size / MAX_DEPTH);
+            for (int b = 0; b < branches; b++) {
+                ObjectNode node = root.putObject("branch_" + b);
+                for (int depth = 0; depth < MAX_DEPTH; depth++) {
+                    node.put("value", random.nextInt(1000));
+                    node = depth % 2 == 0 ? node.putObject("child") : node.putArray("items").addObject();
+                }
+                node.put("leaf", randomText(random));
+            }
+            ObjectNode expected = root.deepCopy();
+            for (int b = 0; b < branches; b += Math.max(1, DIFF_INTERVAL / MAX_DEPTH)) {
+                ((ObjectNode) expected.get("branch_" + b).get("child")).put("value", -1);
+            }
+            dataset.set(root, expected);
+        }
+    },
+
+    /**
+     * 元素很多的有序数组
+     */
+    ORDERED_ARRAY {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            ArrayNode rows = JsonNodeFactory.instance.arrayNode();
+            for (int i = 0; i < size; i++) {
+                rows.add(randomRow(random, i));
+            }
+            ArrayNode expected = rows.deepCopy();
+            for (int i = 0; i < size; i += DIFF_INTERVAL) {
+                ((ObjectNode) expected.get(i)).put("volume", -1);
+            }
+            dataset.set(wrap(rows), wrap(expected));
+        }
+    },
+
+    /**
+     * 元素很多的乱序数组, 未配置唯一键
+     */
+    DISORDER_ARRAY {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            generateDisorder(random, size, dataset, null);
+        }
+    },
+
+    /**
+     * 元素很多的乱序数组, 配置了唯一键
+     */
+    DISORDER_ARRAY_UNIQUE_KEY {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            generateDisorder(random, size, dataset, "id");
+        }
+    },
+
+    /**
+     * 字段值为转义Json字符串的数组
+     */
+    ESCAPED_JSON {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            ArrayNode rows = JsonNodeFactory.instance.arrayNode();
+            ArrayNode expected = JsonNodeFactory.instance.arrayNode();
+            for (int i = 0; i < size; i++) {
+                ObjectNode body = randomRow(random, i);
+                rows.addObject().put("body", body.toString());
+                if (i % DIFF_INTERVAL == 0) {
+                    body.put("volume", -1);
+                }
+                // 转义后的字段顺序不同, 只有反转义后对比才一致
+                ObjectNode reordered = JsonNodeFactory.instance.objectNode();
+                reordered.put("volume", body.get("volume").asInt());
+                reordered.setAll(body);
+                expected.addObject().put("body", reordered.toString());
+            }
+            dataset.set(wrap(rows), wrap(expected));
+            JsonCompareConfig.EscapedJson escapedJson = new JsonCompareConfig.EscapedJson();
+            escapedJson.setPath("$.rows[*].body");
+            dataset.getConfig().getEscapedJsonPath().add(escapedJson);
+        }
+    },
+
+    /**
+     * 大量配置了容差的数值
+     */
+    TOLERANT_NUMBERS {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            ArrayNode rows = JsonNodeFactory.instance.arrayNode();
+            ArrayNode expected = JsonNodeFactory.instance.arrayNode();
+            for (int i = 0; i < size; i++) {
+                double price = random.nextInt(10000000) / 1000.0;
+                rows.addObject().put("price", price).put("ratio", random.nextDouble());
+                double offset = i % DIFF_INTERVAL == 0 ? 1 : 0.0001;
+                expected.addObject().put("price", price + offset).put("ratio", rows.get(i).get("ratio").asDouble());
+            }
+            dataset.set(wrap(rows), wrap(expected));
+            JsonCompareConfig.TolerantConfig tolerant = new JsonCompareConfig.TolerantConfig();
+            tolerant.setPath("$.rows[*].price");
+            tolerant.setTolerant("0.001");
+            dataset.getConfig().getTolerantPath().add(tolerant);
+        }
+    },
+
+    /**
+     * 几乎每个元素都存在差异的数组, 包含值不一致、类型不一致以及缺失的字段
+     */
+    MISMATCH {
+        @Override
+        void generate(Random random, int size, Dataset dataset) {
+            ArrayNode rows = JsonNodeFactory.instance.arrayNode();
+            ArrayNode expected = JsonNodeFactory.instance.arrayNode();
+            for (int i = 0; i < size; i++) {
+                ObjectNode row = randomRow(random, i);
+                rows.add(row);
+                ObjectNode other = randomRow(random, i);
+                other.remove("side");
+                other.put("extra", randomText(random));
+                other.set("tags", randomRow(random, i));
+                expected.add(other);
+            }
+            dataset.set(wrap(rows), wrap(expected));
+        }
+    },
+    ;
+
+    /**
+     * 数据集的随机种子
+     */
+    private static final long SEED = 20261017L;
+
+    /**
+     * 每隔多少个元素注入一个差异
+     */
+    private static final int DIFF_INTERVAL = 100;
+
+    private static final int MAX_DEPTH = 32;
+
+    /**
+     * 生成数据集
+     *
+     * @param size 数据集的规模, 对象的字段数或数组的元素数
+     * @return 数据集
+     */
+    public Dataset create(int size) {
+        Dataset dataset = new Dataset();
+        generate(new Random(SEED + ordinal()), size, dataset);
+        return dataset;
+    }
+
+    abstract void generate(Random random, int size, Dataset dataset);
+
+    private static void generateDisorder(Random random, int size, Dataset dataset, String uniqueKey) {
+        ArrayNode rows = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i < size; i++) {
+            rows.add(randomRow(random, i));
+        }
+        // 打乱顺序后作为预期
+        ArrayNode expected = JsonNodeFactory.instance.arrayNode();
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) {
+            int j = random.nextInt(i + 1);
+            order[i] = order[j];
+            order[j] = i;
+        }
+        for (int i : order) {
+            expected.add(rows.get(i).deepCopy());
+        }
+        for (int i = 0; i < size; i += DIFF_INTERVAL) {
+            ((ObjectNode) expected.get(i)).put("volume", -1);
+        }
+        dataset.set(wrap(rows), wrap(expected));
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.rows");
+        disorder.setUniqueKey(uniqueKey);
+        dataset.getConfig().getArrayWithDisorderPath().add(disorder);
+    }
+
+    private static ObjectNode randomRow(Random random, int id) {
+        ObjectNode row = JsonNodeFactory.instance.objectNode();
+        row.put("id", id);
+        row.put("name", randomText(random));
+        row.put("price", random.nextInt(1000000) / 100.0);
+        row.put("volume", random.nextInt(10000));
+        row.put("side", random.nextBoolean() ? "buy" : "sell");
+        row.putArray("tags").add(random.nextInt(10)).add(random.nextInt(10));
+        return row;
+    }
+
+    private static String randomText(Random random) {
+        char[] chars = new char[8 + random.nextInt(8)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(chars);
+    }
+
+    private static ObjectNode wrap(ArrayNode rows) {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        root.set("rows", rows);
+        return root;
+    }
+
+    /**
+     * 一组实际Json、预期Json以及对应的对比配置
+     */
+    @Getter
+    public static final class Dataset {
+
+        private JsonNode actual;
+
+        private JsonNode expected;
+
+        private final JsonCompareConfig config = new JsonCompareConfig();
+
+        private void set(JsonNode actual, JsonNode expected) {
+            this.actual = actual;
+            this.expected = expected;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.myhexin.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link JsonComparatorFactory#execute}在各个数据集上的吞吐与耗时分布, 覆盖所有对比器的路径
+ * <p>
+ * 通过 mvn -Pjmh test 运行, 默认附带GC profiler以输出分配速率
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ComparatorBenchmark {
+
+    @Param({"WIDE_OBJECT", "DEEP_NESTING", "ORDERED_ARRAY", "DISORDER_ARRAY", "DISORDER_ARRAY_UNIQUE_KEY",
+            "ESCAPED_JSON", "TOLERANT_NUMBERS"})
+    private BenchmarkDataset dataset;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private JsonNode actual;
+
+    private JsonNode expected;
+
+    private JsonCompareConfig config;
+
+    @Setup
+    public void setup() {
+        BenchmarkDataset.Dataset data = dataset.create(size);
+        actual = data.getActual();
+        expected = data.getExpected();
+        config = data.getConfig();
+    }
+
+    @Benchmark
+    public BriefDiffResult compare() {
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ComparatorBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
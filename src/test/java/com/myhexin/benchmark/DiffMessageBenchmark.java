@@ -0,0 +1,97 @@
+package com.myhexin.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.compare.sink.CountingDiffSink;
+import com.myhexin.autotest.jsoncomparison.compare.sink.ListDiffSink;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import com.myhexin.autotest.jsoncomparison.utils.JsonUtils;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 差异很多时生成差异信息的开销, 通过 mvn -Pjmh test -Djmh.include=DiffMessageBenchmark 运行
+ * <ul>
+ *     <li>count: 只关心差异数</li>
+ *     <li>type: 收集差异并读取差异类型</li>
+ *     <li>render: 收集差异并序列化为Json字符串</li>
+ * </ul>
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DiffMessageBenchmark {
+
+    @Param({"MISMATCH"})
+    private BenchmarkDataset dataset;
+
+    @Param({"1000", "10000"})
+    private int size;
+
+    private JsonNode actual;
+
+    private JsonNode expected;
+
+    private JsonCompareConfig config;
+
+    @Setup
+    public void setup() {
+        BenchmarkDataset.Dataset data = dataset.create(size);
+        actual = data.getActual();
+        expected = data.getExpected();
+        config = data.getConfig();
+    }
+
+    private CompareParams<JsonNode> params() {
+        return CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+    }
+
+    @Benchmark
+    public int count() {
+        CountingDiffSink sink = new CountingDiffSink();
+        JsonComparatorFactory.build().executeContrast(actual.getNodeType(), params(), sink);
+        return sink.getDiffNum();
+    }
+
+    @Benchmark
+    public int type() {
+        ListDiffSink sink = new ListDiffSink();
+        JsonComparatorFactory.build().executeContrast(actual.getNodeType(), params(), sink);
+        int sum = 0;
+        for (BriefDiffResult.BriefDiff diff : sink.getDiffs()) {
+            sum += diff.getType();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public String render() {
+        ListDiffSink sink = new ListDiffSink();
+        JsonComparatorFactory.build().executeContrast(actual.getNodeType(), params(), sink);
+        return JsonUtils.toJsonString(sink.getDiffs());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(DiffMessageBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
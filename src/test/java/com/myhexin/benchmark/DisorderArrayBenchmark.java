@@ -0,0 +1,91 @@
+package com.myhexin.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 乱序数组对比的耗时随数组长度的变化, 分别覆盖配置唯一键与不配置唯一键两种情况
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class DisorderArrayBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    private int size;
+
+    @Param({"true", "false"})
+    private boolean withUniqueKey;
+
+    private JsonNode actual;
+
+    private JsonNode expected;
+
+    private JsonCompareConfig config;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ArrayNode actualList = JsonNodeFactory.instance.arrayNode();
+        ArrayNode expectedList = JsonNodeFactory.instance.arrayNode();
+        for (int i = 0; i < size; i++) {
+            ObjectNode order = actualList.addObject();
+            order.put("order_id", "O" + i);
+            order.put("price", 100 + random.nextInt(10000) / 100.0);
+            order.put("volume", random.nextInt(1000));
+            order.put("side", random.nextBoolean() ? "buy" : "sell");
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            expectedList.add(actualList.get(i).deepCopy());
+        }
+        // 少量元素存在差异
+        for (int i = 0; i < size; i += 1000) {
+            ((ObjectNode) expectedList.get(i)).put("volume", -1);
+        }
+        ObjectNode actualRoot = JsonNodeFactory.instance.objectNode();
+        actualRoot.set("orders", actualList);
+        ObjectNode expectedRoot = JsonNodeFactory.instance.objectNode();
+        expectedRoot.set("orders", expectedList);
+        actual = actualRoot;
+        expected = expectedRoot;
+
+        config = new JsonCompareConfig();
+        JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+        disorder.setPath("$.orders");
+        disorder.setUniqueKey(withUniqueKey ? "order_id" : null);
+        config.getArrayWithDisorderPath().add(disorder);
+    }
+
+    @Benchmark
+    public BriefDiffResult compare() {
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(DisorderArrayBenchmark.class.getSimpleName()).build()).run();
+    }
+}
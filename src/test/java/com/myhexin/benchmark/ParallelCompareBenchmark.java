@@ -0,0 +1,86 @@
+package com.myhexin.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.compare.CompareParams;
+import com.myhexin.autotest.jsoncomparison.compare.factory.impl.JsonComparatorFactory;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.result.BriefDiffResult;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 大快照在单线程与并行模式下的对比耗时
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ParallelCompareBenchmark {
+
+    @Param({"100000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean parallel;
+
+    private JsonNode actual;
+
+    private JsonNode expected;
+
+    private JsonCompareConfig config;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        ObjectNode actualRoot = JsonNodeFactory.instance.objectNode();
+        ArrayNode list = actualRoot.putArray("rows");
+        for (int i = 0; i < rows; i++) {
+            ObjectNode row = list.addObject();
+            row.put("id", i);
+            row.put("name", "row-" + random.nextInt(1000));
+            row.put("price", random.nextInt(1000000) / 100.0);
+            ObjectNode detail = row.putObject("detail");
+            for (int j = 0; j < 8; j++) {
+                detail.put("k" + j, random.nextInt(100));
+            }
+        }
+        ObjectNode expectedRoot = actualRoot.deepCopy();
+        for (int i = 0; i < rows; i += 997) {
+            ((ObjectNode) expectedRoot.get("rows").get(i)).put("price", -1);
+        }
+        actual = actualRoot;
+        expected = expectedRoot;
+
+        config = new JsonCompareConfig();
+        JsonCompareConfig.ParallelConfig parallelConfig = new JsonCompareConfig.ParallelConfig();
+        parallelConfig.setEnabled(parallel);
+        config.setParallel(parallelConfig);
+    }
+
+    @Benchmark
+    public BriefDiffResult compare() {
+        CompareParams<JsonNode> params = CompareParams.<JsonNode>builder()
+                .actual(actual)
+                .expected(expected)
+                .config(config)
+                .build();
+        return JsonComparatorFactory.build().execute(actual.getNodeType(), params);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ParallelCompareBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,148 @@
+package com.myhexin.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.myhexin.autotest.jsoncomparison.config.CompiledCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.JsonCompareConfig;
+import com.myhexin.autotest.jsoncomparison.config.PathRules;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 对比逐节点遍历规则集合与编译后按路径下钻两种规则查找方式的耗时
+ * <p>
+ * 两种方式都会在每个节点上查找全部五类规则, 模拟对比器在递归时的规则查找开销
+ *
+ * @author baoyh
+ * @since 2026/10/17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RuleLookupBenchmark {
+
+    @Param({"20", "200"})
+    private int ruleNum;
+
+    private JsonNode document;
+
+    private JsonCompareConfig config;
+
+    private CompiledCompareConfig compiled;
+
+    @Setup
+    public void setup() {
+        ObjectNode root = JsonNodeFactory.instance.objectNode();
+        for (int i = 0; i < 20; i++) {
+            ArrayNode list = root.putArray("list" + i);
+            for (int j = 0; j < 20; j++) {
+                ObjectNode element = list.addObject();
+                for (int k = 0; k < 10; k++) {
+                    element.put("field" + k, i * j + k);
+                }
+            }
+        }
+        document = root;
+        config = new JsonCompareConfig();
+        for (int i = 0; i < ruleNum; i++) {
+            String path = "$.list" + (i % 20) + "[*].field" + (i % 10);
+            switch (i % 5) {
+                case 0:
+                    config.getIgnorePath().add(path + "_" + i);
+                    break;
+                case 1:
+                    JsonCompareConfig.TolerantConfig tolerant = new JsonCompareConfig.TolerantConfig();
+                    tolerant.setPath(path);
+                    tolerant.setTolerant("0.01");
+                    config.getTolerantPath().add(tolerant);
+                    break;
+                case 2:
+                    JsonCompareConfig.EscapedJson escapedJson = new JsonCompareConfig.EscapedJson();
+                    escapedJson.setPath(path + "_" + i);
+                    config.getEscapedJsonPath().add(escapedJson);
+                    break;
+                case 3:
+                    JsonCompareConfig.FieldMapping mapping = new JsonCompareConfig.FieldMapping();
+                    mapping.setPath(path + "_" + i);
+                    mapping.setMappingKey("mapping" + i);
+                    config.getFieldMappings().add(mapping);
+                    break;
+                default:
+                    JsonCompareConfig.ArrayWithDisorderConfig disorder = new JsonCompareConfig.ArrayWithDisorderConfig();
+                    disorder.setPath("$.list" + (i % 20) + "_" + i);
+                    config.getArrayWithDisorderPath().add(disorder);
+                    break;
+            }
+        }
+        compiled = config.compile();
+    }
+
+    @Benchmark
+    public void legacyLookup(Blackhole blackhole) {
+        legacyWalk(document, "$", blackhole);
+    }
+
+    @Benchmark
+    public void compiledLookup(Blackhole blackhole) {
+        compiledWalk(document, compiled.getRoot(), blackhole);
+    }
+
+    @Benchmark
+    public CompiledCompareConfig compile() {
+        return config.compile();
+    }
+
+    private void legacyWalk(JsonNode node, String path, Blackhole blackhole) {
+        blackhole.consume(config.isIgnorePath(path));
+        blackhole.consume(config.getTolerantConfig(path));
+        blackhole.consume(config.getEscapedJson(path));
+        blackhole.consume(config.getMappingConfig(path));
+        blackhole.consume(config.isWithDisorderPath(path));
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                legacyWalk(field.getValue(), path + "." + field.getKey(), blackhole);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                legacyWalk(node.get(i), path + "[" + i + "]", blackhole);
+            }
+        }
+    }
+
+    private void compiledWalk(JsonNode node, PathRules rules, Blackhole blackhole) {
+        blackhole.consume(rules.isIgnore());
+        blackhole.consume(rules.getTolerantConfig());
+        blackhole.consume(rules.getEscapedJson());
+        blackhole.consume(rules.getFieldMapping());
+        blackhole.consume(rules.isDisorder());
+        if (node.isObject()) {
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                compiledWalk(field.getValue(), rules.field(field.getKey()), blackhole);
+            }
+        } else if (node.isArray()) {
+            for (int i = 0; i < node.size(); i++) {
+                compiledWalk(node.get(i), rules.element(i), blackhole);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(RuleLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}